@@ -0,0 +1,113 @@
+package com.example.pdfcollector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limiteur I/O AIMD (comme le contrôle de congestion TCP) : toutes les ~500 ms,
+ * on compare le débit agrégé (MB/s) et la latence normalisée (ns/octet par copie)
+ * à la fenêtre précédente.
+ * - débit qui progresse ou se maintient, latence saine : +1 permis (additif)
+ * - latence qui explose sans gain de débit : x0.75 (multiplicatif)
+ */
+public class AdaptiveIoLimiter implements IoLimiter {
+
+    private static final long WINDOW_NANOS = 500_000_000L;
+    private static final double LATENCY_BLOWUP = 2.0;
+    private static final double DECREASE_FACTOR = 0.75;
+    private static final int MAX_SAMPLES = 1024;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitFreed = lock.newCondition();
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long startNanos = System.nanoTime();
+
+    private int limit;
+    private int inUse;
+
+    // fenêtre de mesure courante
+    private long winStart = startNanos;
+    private long winBytes;
+    private long winOpNanos;
+    private long winOpBytes;
+
+    private double prevMbps;
+    private double bestNsPerByte = Double.MAX_VALUE;
+    private final List<IoSample> samples = new ArrayList<>();
+
+    public AdaptiveIoLimiter(int initial, int maxLimit) {
+        this.minLimit = 1;
+        this.maxLimit = Math.max(initial, maxLimit);
+        this.limit = Math.max(minLimit, initial);
+    }
+
+    @Override
+    public void acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            while (inUse >= limit) permitFreed.await();
+            inUse++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void release(long bytes, long nanos) {
+        lock.lock();
+        try {
+            inUse--;
+            if (bytes > 0 && nanos > 0) {
+                winBytes += bytes;
+                winOpBytes += bytes;
+                winOpNanos += nanos;
+            }
+            adjust(System.nanoTime());
+            permitFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // appelé sous le lock
+    private void adjust(long now) {
+        long elapsed = now - winStart;
+        if (elapsed < WINDOW_NANOS || winOpBytes == 0) return;
+
+        double mbps = (winBytes / (1024.0 * 1024.0)) / (elapsed / 1_000_000_000.0);
+        double nsPerByte = winOpNanos / (double) winOpBytes;
+        bestNsPerByte = Math.min(bestNsPerByte, nsPerByte);
+
+        if (nsPerByte > bestNsPerByte * LATENCY_BLOWUP && mbps <= prevMbps * 1.05) {
+            limit = Math.max(minLimit, (int) (limit * DECREASE_FACTOR));
+        } else if (mbps >= prevMbps * 0.95 && inUse + 1 >= limit) {
+            // on n'augmente que si la limite est réellement atteinte
+            limit = Math.min(maxLimit, limit + 1);
+        }
+
+        prevMbps = mbps;
+        if (samples.size() >= MAX_SAMPLES) samples.remove(0);
+        samples.add(new IoSample((now - startNanos) / 1_000_000, limit, mbps, nsPerByte));
+
+        winStart = now;
+        winBytes = 0;
+        winOpBytes = 0;
+        winOpNanos = 0;
+    }
+
+    @Override
+    public int currentLimit() {
+        lock.lock();
+        try { return limit; } finally { lock.unlock(); }
+    }
+
+    @Override
+    public List<IoSample> curve() {
+        lock.lock();
+        try { return List.copyOf(samples); } finally { lock.unlock(); }
+    }
+}
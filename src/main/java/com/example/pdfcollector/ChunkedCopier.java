@@ -0,0 +1,117 @@
+package com.example.pdfcollector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Copie d'un gros fichier découpé en plages copiées en parallèle (lectures/écritures
+ * positionnelles) dans dst préalloué (l'appelant passe le ".part", cf. DurableWriter).
+ * Chaque plage terminée est signalée au listener (fraction du fichier).
+ * Avec un limiteur, chaque plage prend son propre permis : maxIo / AIMD bornent
+ * le nombre réel de flux en cours, plages comprises (l'appelant ne garde pas le sien).
+ */
+public class ChunkedCopier implements CopyStrategy {
+
+    static final long CHUNK_SIZE = 64L * 1024 * 1024; // 64MB
+    private static final int BUF_SIZE = 1024 * 1024;
+
+    private final ExecutorService chunkPool;
+    private final DoubleConsumer chunkListener;
+
+    public ChunkedCopier(ExecutorService chunkPool, DoubleConsumer chunkListener) {
+        this.chunkPool = chunkPool;
+        this.chunkListener = chunkListener;
+    }
+
+    @Override public String name() { return "chunked"; }
+
+    @Override
+    public void copy(Path src, Path dst, long size) throws IOException {
+        copy(src, dst, size, null);
+    }
+
+    // limiter null : plages non bridées
+    public void copy(Path src, Path dst, long size, IoLimiter limiter) throws IOException {
+        int chunks = (int) Math.max(1, (size + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        double perChunk = 1.0 / chunks;
+        double reported = 0.0;
+
+        try (FileChannel in = FileChannel.open(src, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(dst, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                     StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+
+            long len = in.size();
+            // préallocation : la taille finale est fixée avant les écritures concurrentes
+            if (len > 0) out.write(ByteBuffer.wrap(new byte[1]), len - 1);
+
+            List<Future<?>> parts = new ArrayList<>(chunks);
+            for (long pos = 0; pos < len; pos += CHUNK_SIZE) {
+                long start = pos;
+                long end = Math.min(len, pos + CHUNK_SIZE);
+                parts.add(chunkPool.submit(() -> { copyRange(in, out, start, end, limiter); return null; }));
+            }
+
+            try {
+                for (Future<?> f : parts) {
+                    f.get();
+                    chunkListener.accept(perChunk);
+                    reported += perChunk;
+                }
+            } catch (InterruptedException ie) {
+                parts.forEach(f -> f.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IOException("Copie interrompue : " + src, ie);
+            } catch (ExecutionException ee) {
+                parts.forEach(f -> f.cancel(true));
+                Throwable c = ee.getCause();
+                throw (c instanceof IOException io) ? io : new IOException(c);
+            }
+        } catch (IOException ex) {
+            try { Files.deleteIfExists(dst); } catch (IOException ignored) {}
+            throw ex;
+        } finally {
+            // la progression "fichier entier" prend le relais (done++) après le retour
+            if (reported > 0) chunkListener.accept(-reported);
+        }
+    }
+
+    private static void copyRange(FileChannel in, FileChannel out, long start, long end, IoLimiter limiter)
+            throws IOException, InterruptedException {
+        if (limiter == null) {
+            copyRange(in, out, start, end);
+            return;
+        }
+        limiter.acquire();
+        long t0 = System.nanoTime();
+        long bytes = 0L;
+        try {
+            copyRange(in, out, start, end);
+            bytes = end - start;
+        } finally {
+            limiter.release(bytes, System.nanoTime() - t0);
+        }
+    }
+
+    private static void copyRange(FileChannel in, FileChannel out, long start, long end) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocateDirect(BUF_SIZE);
+        long pos = start;
+        while (pos < end) {
+            buf.clear();
+            if (end - pos < buf.capacity()) buf.limit((int) (end - pos));
+            int n = in.read(buf, pos);
+            if (n < 0) throw new IOException("Fin de fichier inattendue à " + pos);
+            buf.flip();
+            long w = pos;
+            while (buf.hasRemaining()) w += out.write(buf, w);
+            pos += n;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.pdfcollector;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bancs d'essai des choix d'exécution, hors du moteur : chacun prépare un lot dans un
+ * dossier temporaire sous workDir, le copie avec plusieurs réglages (CollectorConfig.builder)
+ * et supprime tout à la fin.
+ * Lancement : java com.example.pdfcollector.CollectorBenchmarks [workDir]
+ */
+public final class CollectorBenchmarks {
+
+    private CollectorBenchmarks() { }
+
+    public static void main(String[] args) throws Exception {
+        Path workDir = Path.of(args.length > 0 ? args[0] : System.getProperty("java.io.tmpdir"));
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        benchmarkExecution(workDir, 2000, 5, threads, System.out::println);
+        benchmarkLayouts(workDir, 20_000, System.out::println);
+        benchmarkDurability(workDir, 1000, threads, System.out::println);
+    }
+
+    // ------------------ Pool fixe vs threads virtuels ------------------
+    // Petits fichiers copiés avec le pool fixe puis en threads virtuels, sur disque local
+    // puis avec une latence injectée à chaque permis I/O (LatencyIoLimiter, substitut d'un FS réseau).
+    public static ExecutionBenchmark benchmarkExecution(Path workDir, int files, int latencyMs, int threads,
+                                                        Consumer<String> logger) throws Exception {
+        Path root = Files.createTempDirectory(workDir, ".benchmark_exec");
+        try {
+            Path src = root.resolve("src");
+            Files.createDirectories(src);
+            byte[] data = new byte[16 * 1024];
+            for (int i = 0; i < files; i++) Files.write(src.resolve("f" + i + ".bin"), data);
+
+            long[] ms = new long[4];
+            int k = 0;
+            for (long latency : new long[]{0L, latencyMs}) {
+                for (boolean virtual : new boolean[]{false, true}) {
+                    CollectorConfig cfg = CollectorConfig.builder(src, root.resolve("out" + k))
+                            .threads(threads)
+                            .maxIo(CollectorEngine.VIRTUAL_MAX_IO)
+                            .progressEvery(Integer.MAX_VALUE)
+                            .extensions(Set.of("bin"))
+                            .skipExisting(false)
+                            .copyStrategy("files")
+                            .virtualThreads(virtual)
+                            .build();
+                    UnaryOperator<IoLimiter> decorator = latency == 0
+                            ? UnaryOperator.identity()
+                            : l -> new LatencyIoLimiter(l, latency);
+                    ms[k++] = new CollectorEngine(decorator).run(cfg, p -> {}, m -> {}, () -> false).elapsedMillis();
+                }
+            }
+
+            ExecutionBenchmark r = new ExecutionBenchmark(ms[0], ms[1], ms[2], ms[3]);
+            if (logger != null) {
+                logger.accept(String.format(
+                        "Benchmark exécution (%d fichiers, %d threads) : local fixe=%dms virtuel=%dms | latence %dms fixe=%dms virtuel=%dms",
+                        files, threads, r.localFixedMs(), r.localVirtualMs(), latencyMs, r.latencyFixedMs(), r.latencyVirtualMs()
+                ));
+            }
+            return r;
+        } finally {
+            deleteTree(root);
+        }
+    }
+
+    // ------------------ Organisation destination ------------------
+    // Création de fichiers vides dans un dossier plat puis en dossiers hachés (ab/cd/) :
+    // la latence du dernier 10 % montre le coût d'un dossier déjà très peuplé.
+    public static List<LayoutBenchmark> benchmarkLayouts(Path workDir, int files, Consumer<String> logger) throws Exception {
+        List<LayoutBenchmark> out = new ArrayList<>();
+        for (String layout : new String[]{DestLayout.FLAT, DestLayout.HASH}) {
+            Path root = Files.createTempDirectory(workDir, ".benchmark_layout");
+            try {
+                DestLayout dl = new DestLayout(layout, root, root);
+                int tailFrom = files - Math.max(1, files / 10);
+                long total = 0, tail = 0;
+                for (int i = 0; i < files; i++) {
+                    FileEntry e = new FileEntry(root.resolve("f" + i + ".pdf"), 0L, 0L);
+                    long t0 = System.nanoTime();
+                    Files.createFile(dl.resolve(e));
+                    long ns = System.nanoTime() - t0;
+                    total += ns;
+                    if (i >= tailFrom) tail += ns;
+                }
+                LayoutBenchmark r = new LayoutBenchmark(layout, files,
+                        total / 1000.0 / Math.max(1, files), tail / 1000.0 / Math.max(1, files - tailFrom));
+                out.add(r);
+                if (logger != null) {
+                    logger.accept(String.format("Benchmark organisation %s (%d fichiers) : création moy=%.1fµs, dernier 10%%=%.1fµs",
+                            layout, files, r.avgCreateMicros(), r.tailCreateMicros()));
+                }
+            } finally {
+                deleteTree(root);
+            }
+        }
+        return out;
+    }
+
+    // ------------------ Durabilité ------------------
+    // Petits fichiers (le coût d'un fsync domine) copiés sans fsync, avec fsync par fichier,
+    // puis avec fsync groupés : l'écart mesure le prix de la sécurité sur ce disque.
+    public static List<DurabilityBenchmark> benchmarkDurability(Path workDir, int files, int threads,
+                                                                Consumer<String> logger) throws Exception {
+        Path root = Files.createTempDirectory(workDir, ".benchmark_durability");
+        try {
+            Path src = root.resolve("src");
+            Files.createDirectories(src);
+            byte[] data = new byte[64 * 1024];
+            for (int i = 0; i < files; i++) Files.write(src.resolve("f" + i + ".bin"), data);
+
+            List<DurabilityBenchmark> out = new ArrayList<>();
+            for (String mode : new String[]{DurableWriter.NONE, DurableWriter.FILE, DurableWriter.GROUP}) {
+                CollectorConfig cfg = CollectorConfig.builder(src, root.resolve("out_" + mode))
+                        .threads(threads)
+                        .maxIo(threads)
+                        .progressEvery(Integer.MAX_VALUE)
+                        .extensions(Set.of("bin"))
+                        .skipExisting(false)
+                        .copyStrategy("files")
+                        .durability(mode)
+                        .build();
+                long ms = new CollectorEngine().run(cfg, p -> {}, m -> {}, () -> false).elapsedMillis();
+                DurabilityBenchmark r = new DurabilityBenchmark(mode, files, ms, files * 1000.0 / Math.max(1, ms));
+                out.add(r);
+                if (logger != null) {
+                    logger.accept(String.format("Benchmark durabilité %s (%d fichiers, %d threads) : %dms, %.0f fichiers/s",
+                            mode, files, threads, r.elapsedMillis(), r.filesPerSecond()));
+                }
+            }
+            return out;
+        } finally {
+            deleteTree(root);
+        }
+    }
+
+    private static void deleteTree(Path root) throws IOException {
+        try (var w = Files.walk(root)) {
+            w.sorted(Comparator.reverseOrder()).forEach(p -> {
+                try { Files.deleteIfExists(p); } catch (Exception ignored) {}
+            });
+        }
+    }
+}
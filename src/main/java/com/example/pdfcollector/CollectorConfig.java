@@ -14,5 +14,219 @@ public record CollectorConfig(
         int maxIo,
         int progressEvery,
         Set<String> extensions,
-        boolean skipExisting // NEW
-) { }
+        boolean skipExisting, // NEW
+        int scanParallelism,  // 1 = walk séquentiel, >1 = walk fork-join parallèle
+        boolean pipelined,    // copie pendant le scan (ignoré si sortByDate)
+        String copyStrategy,  // auto | files | transfer | buffered | mapped
+        int chunkedThresholdMb, // au-delà : copie par plages parallèles (0 = désactivé)
+        String schedulePolicy,  // CollectorEngine.SCHEDULE_FIFO | SCHEDULE_SIZE
+        boolean adaptiveIo,     // maxIo = valeur de départ, ajustée à chaud (AIMD)
+        boolean perDeviceIo,    // limiteur + pool par périphérique (FileStore)
+        boolean virtualThreads, // un thread virtuel par fichier, borné par le limiteur I/O
+        boolean incremental,    // index persistant : ne relit que les dossiers modifiés
+        boolean resume,         // reprise d'un run interrompu via le journal
+        boolean dedupContent,   // un seul exemplaire par contenu identique (empreinte SHA-256)
+        String collectMode,     // LinkPlacer.COPY | HARDLINK | REFLINK (repli copie si impossible)
+        String destLayout,      // DestLayout.FLAT | HASH | DATE | EXT | TREE
+        boolean validateStructure, // PDF : fin de fichier (%%EOF, startxref, xref) ; rejetés => quarantaine
+        int validateThreads,    // 0 = validation dans le worker de copie, >0 = étape dédiée avant la copie
+        boolean fusedCopy,      // validation + empreinte pendant la copie : une seule lecture de la source
+        boolean verifyCopies,   // relecture de chaque copie (CRC32C) dans une étape séparée bridée
+        String durability,      // DurableWriter.NONE | FILE | GROUP : fsync avant publication du .part
+        int sortRunEntries      // tri par date sur disque au-delà de N entrées par run (0 = tri en mémoire)
+) {
+
+    public static Builder builder(Path sourceDir, Path destDir) {
+        return new Builder(sourceDir, destDir);
+    }
+
+    /**
+     * Construction par nom plutôt que par position (bancs d'essai, tests) : seuls les
+     * champs qui diffèrent des valeurs par défaut sont donnés.
+     */
+    public static final class Builder {
+        private final Path sourceDir;
+        private final Path destDir;
+        private boolean sortByDate;
+        private boolean validateFast;
+        private boolean moveInsteadOfCopy;
+        private boolean verboseLog;
+        private int threads = 4;
+        private int maxIo = 4;
+        private int progressEvery = 50;
+        private Set<String> extensions = Set.of("pdf");
+        private boolean skipExisting = true;
+        private int scanParallelism = 1;
+        private boolean pipelined;
+        private String copyStrategy = CopyStrategies.AUTO;
+        private int chunkedThresholdMb;
+        private String schedulePolicy = CollectorEngine.SCHEDULE_FIFO;
+        private boolean adaptiveIo;
+        private boolean perDeviceIo;
+        private boolean virtualThreads;
+        private boolean incremental;
+        private boolean resume;
+        private boolean dedupContent;
+        private String collectMode = LinkPlacer.COPY;
+        private String destLayout = DestLayout.FLAT;
+        private boolean validateStructure;
+        private int validateThreads;
+        private boolean fusedCopy;
+        private boolean verifyCopies;
+        private String durability = DurableWriter.NONE;
+        private int sortRunEntries;
+
+        private Builder(Path sourceDir, Path destDir) {
+            this.sourceDir = sourceDir;
+            this.destDir = destDir;
+        }
+
+        public Builder sortByDate(boolean sortByDate) {
+            this.sortByDate = sortByDate;
+            return this;
+        }
+
+        public Builder validateFast(boolean validateFast) {
+            this.validateFast = validateFast;
+            return this;
+        }
+
+        public Builder moveInsteadOfCopy(boolean moveInsteadOfCopy) {
+            this.moveInsteadOfCopy = moveInsteadOfCopy;
+            return this;
+        }
+
+        public Builder verboseLog(boolean verboseLog) {
+            this.verboseLog = verboseLog;
+            return this;
+        }
+
+        public Builder threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public Builder maxIo(int maxIo) {
+            this.maxIo = maxIo;
+            return this;
+        }
+
+        public Builder progressEvery(int progressEvery) {
+            this.progressEvery = progressEvery;
+            return this;
+        }
+
+        public Builder extensions(Set<String> extensions) {
+            this.extensions = extensions;
+            return this;
+        }
+
+        public Builder skipExisting(boolean skipExisting) {
+            this.skipExisting = skipExisting;
+            return this;
+        }
+
+        public Builder scanParallelism(int scanParallelism) {
+            this.scanParallelism = scanParallelism;
+            return this;
+        }
+
+        public Builder pipelined(boolean pipelined) {
+            this.pipelined = pipelined;
+            return this;
+        }
+
+        public Builder copyStrategy(String copyStrategy) {
+            this.copyStrategy = copyStrategy;
+            return this;
+        }
+
+        public Builder chunkedThresholdMb(int chunkedThresholdMb) {
+            this.chunkedThresholdMb = chunkedThresholdMb;
+            return this;
+        }
+
+        public Builder schedulePolicy(String schedulePolicy) {
+            this.schedulePolicy = schedulePolicy;
+            return this;
+        }
+
+        public Builder adaptiveIo(boolean adaptiveIo) {
+            this.adaptiveIo = adaptiveIo;
+            return this;
+        }
+
+        public Builder perDeviceIo(boolean perDeviceIo) {
+            this.perDeviceIo = perDeviceIo;
+            return this;
+        }
+
+        public Builder virtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        public Builder incremental(boolean incremental) {
+            this.incremental = incremental;
+            return this;
+        }
+
+        public Builder resume(boolean resume) {
+            this.resume = resume;
+            return this;
+        }
+
+        public Builder dedupContent(boolean dedupContent) {
+            this.dedupContent = dedupContent;
+            return this;
+        }
+
+        public Builder collectMode(String collectMode) {
+            this.collectMode = collectMode;
+            return this;
+        }
+
+        public Builder destLayout(String destLayout) {
+            this.destLayout = destLayout;
+            return this;
+        }
+
+        public Builder validateStructure(boolean validateStructure) {
+            this.validateStructure = validateStructure;
+            return this;
+        }
+
+        public Builder validateThreads(int validateThreads) {
+            this.validateThreads = validateThreads;
+            return this;
+        }
+
+        public Builder fusedCopy(boolean fusedCopy) {
+            this.fusedCopy = fusedCopy;
+            return this;
+        }
+
+        public Builder verifyCopies(boolean verifyCopies) {
+            this.verifyCopies = verifyCopies;
+            return this;
+        }
+
+        public Builder durability(String durability) {
+            this.durability = durability;
+            return this;
+        }
+
+        public Builder sortRunEntries(int sortRunEntries) {
+            this.sortRunEntries = sortRunEntries;
+            return this;
+        }
+
+        public CollectorConfig build() {
+            return new CollectorConfig(sourceDir, destDir, sortByDate, validateFast, moveInsteadOfCopy, verboseLog, threads, maxIo,
+                    progressEvery, extensions, skipExisting, scanParallelism, pipelined, copyStrategy,
+                    chunkedThresholdMb, schedulePolicy, adaptiveIo, perDeviceIo, virtualThreads, incremental, resume,
+                    dedupContent, collectMode, destLayout, validateStructure, validateThreads, fusedCopy, verifyCopies,
+                    durability, sortRunEntries);
+        }
+    }
+}
@@ -1,16 +1,50 @@
 package com.example.pdfcollector;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.io.OutputStream;
 import java.nio.file.*;
-import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 public class CollectorEngine {
 
+    // Ordonnancement : "fifo" = ordre du walk (ou date), "size" = plus gros d'abord + lots de petits fichiers
+    public static final String SCHEDULE_FIFO = "fifo";
+    public static final String SCHEDULE_SIZE = "size";
+
+    private static final long SMALL_FILE_BYTES = 256L * 1024;      // < 256KB => regroupable
+    private static final int BATCH_MAX_FILES = 64;
+    private static final long BATCH_MAX_BYTES = 8L * 1024 * 1024;   // 8MB par lot
+
+    // sous-dossier de la destination recevant les fichiers rejetés par la validation structurelle
+    public static final String QUARANTINE_DIR = "_Quarantaine";
+
+    // renommages (move même FileStore) : aucune donnée copiée, concurrence élevée
+    private static final int RENAME_WORKERS = 32;
+
+    // threads virtuels : concurrence bornée par le limiteur I/O, pas par le nombre de workers
+    static final int VIRTUAL_MAX_IO = 256;
+
+    // bancs d'essai : habille chaque limiteur créé (ex: latence simulée), identité sinon
+    private final UnaryOperator<IoLimiter> limiterDecorator;
+
+    public CollectorEngine() {
+        this(UnaryOperator.identity());
+    }
+
+    CollectorEngine(UnaryOperator<IoLimiter> limiterDecorator) {
+        this.limiterDecorator = limiterDecorator;
+    }
+
     public CollectorStats run(CollectorConfig cfg,
                               Consumer<Double> progress,
                               Consumer<String> logger,
@@ -25,173 +59,1135 @@ public class CollectorEngine {
         Path dest = cfg.destDir();
         Files.createDirectories(dest);
 
-        // 1) Scan fichiers à traiter (selon extensions)
-        List<Path> files = new ArrayList<>();
         Set<String> allowed = cfg.extensions();
+        String types = String.join(", ", allowed);
+
+        // Scan incrémental : on ne relit que les dossiers modifiés depuis le dernier run
+        Path indexFile = dest.resolve(ScanIndex.FILE_NAME);
+        ScanIndex prevIndex = cfg.incremental() ? ScanIndex.load(indexFile, source, allowed) : null;
+        ScanIndex nextIndex = cfg.incremental() ? new ScanIndex(source, allowed) : null;
+        if (cfg.incremental()) {
+            logger.accept(prevIndex == null
+                    ? "Index incrémental absent : scan complet"
+                    : "Index incrémental : " + prevIndex.dirCount() + " dossiers connus");
+        }
+        FileScanner scanner = new FileScanner(source, dest, allowed, cfg.scanParallelism(), prevIndex, nextIndex);
+
+        // Journal de reprise : toujours relu (temporaires orphelins à supprimer),
+        // ses copies faites / interrompues ne servent que si reprise demandée
+        Path journalFile = dest.resolve(JobJournal.FILE_NAME);
+        JobJournal.Replay previous = JobJournal.replay(journalFile);
+        JobJournal.Replay replay = cfg.resume() ? previous : null;
+        if (replay != null) {
+            logger.accept("Reprise : " + replay.doneCount() + " fichiers déjà faits, "
+                    + replay.pendingCount() + " copies interrompues à refaire");
+        }
+
+        Set<Path> staleTemps = new HashSet<>();
+        for (String d : previous.pendingBySource().values()) {
+            staleTemps.add(DurableWriter.tempFor(Path.of(d)).toAbsolutePath().normalize());
+        }
+        Job job = new Job(cfg, dest, progress, logger, isCancelled, limiterDecorator, staleTemps);
+        job.index = nextIndex;
+        job.replay = replay;
+        if (replay != null) {
+            // noms des copies interrompues réservés avant tout worker : aucun fichier neuf ne peut les prendre
+            int taken = 0;
+            for (Map.Entry<String, String> e : List.copyOf(replay.pendingBySource().entrySet())) {
+                if (!job.names.claimIfFree(Path.of(e.getValue()))) {
+                    replay.forgetPending(e.getKey());
+                    taken++;
+                }
+            }
+            if (taken > 0) {
+                logger.accept("Reprise : " + taken + " copies interrompues dont le nom existe déjà, refaites comme fichiers neufs");
+            }
+        }
+        // empreintes persistantes : un fichier inchangé depuis le dernier run n'est pas relu
+        Path hashFile = dest.resolve(HashCache.FILE_NAME);
+        if (cfg.dedupContent()) {
+            job.hashCache = HashCache.load(hashFile, HashCache.DEFAULT_MAX_ENTRIES);
+        }
+        CollectorStats stats;
+        try (JobJournal journal = JobJournal.open(journalFile, cfg.resume())) {
+            job.journal = journal;
+            stats = runJob(job, scanner, types);
+
+            // publications encore en lot (durabilité groupée) : copies comptées seulement une fois renommées
+            job.durable.close();
+            if (!DurableWriter.NONE.equals(cfg.durability())) {
+                logger.accept("Durabilité " + cfg.durability() + " : " + job.durable.fsyncs.sum() + " fsync"
+                        + (DurableWriter.GROUP.equals(cfg.durability()) ? " en " + job.durable.groups.sum() + " lots" : ""));
+                stats = job.stats();
+            }
+
+            // fin des relectures encore en file, puis stats à jour (échecs de vérification compris)
+            if (job.verifier != null) {
+                job.verifier.drain(isCancelled);
+                logger.accept("Vérification : " + job.verifier.verified.get() + " conformes, "
+                        + job.verifier.mismatches.get() + " écarts, " + job.verifier.repaired.get() + " recopiés, "
+                        + job.verifier.unverified.get() + " non vérifiés (source illisible)");
+                stats = job.stats();
+            }
+
+            // dédup : un doublon remplace chaque original dont la copie n'a pas abouti
+            if (!job.promoted.isEmpty()) {
+                copyStandIns(job);
+                stats = job.stats();
+            }
+
+            if (job.hashCache != null && !isCancelled.getAsBoolean()) {
+                job.hashCache.save(hashFile);
+            }
+
+            // index sauvé seulement si le walk est allé au bout
+            if (nextIndex != null && !isCancelled.getAsBoolean()) {
+                nextIndex.save(indexFile);
+                logger.accept("Index incrémental sauvegardé : " + nextIndex.dirCount() + " dossiers, "
+                        + nextIndex.fileCount() + " fichiers");
+            }
+        } finally {
+            job.close();
+        }
 
-        try (var stream = Files.walk(source)) {
-            stream.filter(Files::isRegularFile)
-                    .filter(p -> !p.startsWith(dest))
-                    .filter(p -> allowed.contains(extOf(p)))
-                    .forEach(files::add);
+        if (replay != null) {
+            logger.accept("Reprise : " + job.resumedSkips.get() + " ignorés via journal, "
+                    + job.partialRedone.get() + " fichiers partiels refaits");
         }
+        if (job.names.stalePartsRemoved() > 0) {
+            logger.accept("Fichiers temporaires orphelins (run interrompu) supprimés : " + job.names.stalePartsRemoved());
+        }
+        // run terminé : plus rien à reprendre
+        if (!isCancelled.getAsBoolean()) {
+            Files.deleteIfExists(journalFile);
+        }
+        return stats;
+    }
+
+    private CollectorStats runJob(Job job, FileScanner scanner, String types) throws Exception {
+        CollectorConfig cfg = job.cfg;
+        Consumer<Double> progress = job.progress;
+        Consumer<String> logger = job.logger;
+        BooleanSupplier isCancelled = job.isCancelled;
+
+        boolean sizeSchedule = SCHEDULE_SIZE.equals(cfg.schedulePolicy());
 
-        // Tri par date si demandé
+        // Mode pipeline : la copie démarre pendant le walk (tris et dédup exigent le walk complet)
+        if (cfg.pipelined() && !cfg.sortByDate() && !sizeSchedule && !cfg.dedupContent()) {
+            runPipelined(job, scanner, types);
+            return job.stats();
+        }
+        if (cfg.pipelined()) {
+            logger.accept("Tri ou dédup demandé : mode pipeline désactivé (scan complet puis copie)");
+        }
+
+        // Tri par date sur disque : runs triés + fusion consommée directement par les workers
+        if (cfg.sortByDate() && cfg.sortRunEntries() > 0) {
+            if (!cfg.dedupContent()) {
+                runSpilled(job, scanner, types);
+                return job.stats();
+            }
+            logger.accept("Dédup demandée : tri sur disque ignoré (tri en mémoire)");
+        }
+
+        // 1) Scan fichiers à traiter (selon extensions) : un seul stat par fichier
+        // walk parallèle possible : le sink (FileTable.add) est thread-safe.
+        // Table en colonnes : dossiers internés + long[] taille/date, pas un Path par fichier.
+        FileTable table = new FileTable();
+        scanner.walk(isCancelled, table::add);
+        table.trimToSize();
+
+        if (cfg.dedupContent()) {
+            table = FileTable.copyOf(dedupe(job, table));
+            table.trimToSize();
+        }
+
+        // Tri par date si demandé (date déjà capturée par le scan, aucun I/O) : tri d'indices
+        // sur les long[]. Départage par chemin : ordre stable quel que soit l'ordre du walk parallèle.
         if (cfg.sortByDate()) {
-            files.sort(Comparator.comparingLong(this::safeLastModified));
+            long t0 = System.nanoTime();
+            table.sortByDate();
+            logger.accept("Tri par date : " + table.size() + " fichiers en " + (System.nanoTime() - t0) / 1_000_000 + " ms");
+            if (sizeSchedule) logger.accept("Tri par date prioritaire : ordonnancement par taille ignoré");
+        } else if (sizeSchedule) {
+            // plus gros d'abord : les longues copies démarrent tôt, les petits fichiers comblent la fin
+            table.sortBySizeDesc();
         }
+        List<FileEntry> files = table;
 
-        String types = String.join(", ", allowed);
-        logger.accept("Les fichiers trouvés (types : " + types + ") : " + files.size());
+        logger.accept("Les fichiers trouvés (types : " + types + ") : " + files.size()
+                + " (" + table.dirCount() + " dossiers)");
+
+        // Étape de validation dédiée : les PDF corrompus sont écartés avant la copie
+        if (cfg.validateStructure() && cfg.validateThreads() > 0) {
+            if (cfg.fusedCopy()) {
+                logger.accept("Copie fusionnée : validation faite pendant la copie (étape dédiée ignorée)");
+            } else {
+                files = runValidation(job, files);
+            }
+        }
 
         // 2) Copie / Move en multi-thread avec limite I/O
         int total = files.size();
         if (total == 0) {
             progress.accept(1.0);
-            return new CollectorStats(0, 0, 0, 0, 0, 0L);
+            return job.stats();
+        }
+        job.setTotal(total);
+
+        if (cfg.moveInsteadOfCopy()) {
+            files = runRenames(job, files);
+            if (files.isEmpty() || isCancelled.getAsBoolean()) {
+                progress.accept(1.0);
+                return job.stats();
+            }
+        }
+
+        boolean batchSmall = sizeSchedule && !cfg.sortByDate();
+        if (job.devices == null) {
+            runBounded(job, files, batchSmall);
+        } else {
+            runPerDevice(job, files, batchSmall);
+        }
+
+        progress.accept(1.0);
+
+        return job.stats();
+    }
+
+    // ------------------ Déduplication par contenu ------------------
+    // taille -> empreinte partielle -> empreinte complète : seuls les fichiers encore
+    // en collision sont relus, et les fichiers de taille unique ne sont jamais ouverts.
+    private List<FileEntry> dedupe(Job job, List<FileEntry> files) throws Exception {
+        long t0 = System.nanoTime();
+        HashCache cache = job.hashCache;
+        ContentDeduplicator dedup = new ContentDeduplicator(new ContentHasher(cache), job.threads);
+        ContentDeduplicator.Result r = dedup.dedupe(files, job.isCancelled);
+
+        for (ContentDeduplicator.Duplicate d : r.duplicates()) {
+            // remplaçants dans l'ordre des chemins, promus si la copie de l'original échoue
+            job.standIns.computeIfAbsent(d.original().path(), k -> new ConcurrentLinkedDeque<>()).add(d.file());
+            job.duplicates.incrementAndGet();
+            job.outcome(d.file().path(), ScanIndex.SKIPPED);
+            if (job.cfg.verboseLog()) {
+                job.logger.accept("[DUP] " + d.file().path() + " == " + d.original().path());
+            }
+        }
+        job.logger.accept(String.format("Dédup : %d doublons sur %d fichiers (%d empreintes partielles, %d complètes, %d ms)",
+                r.duplicates().size(), files.size(), r.partialHashed(), r.fullHashed(),
+                (System.nanoTime() - t0) / 1_000_000));
+        job.logger.accept("Cache d'empreintes : " + cache.hits() + " trouvées, " + cache.misses()
+                + " calculées, " + cache.size() + " entrées");
+        return r.unique();
+    }
+
+    // Remplaçants promus par Job.lost : copiés par vagues (un remplaçant qui échoue promeut le suivant),
+    // chaque vague publiée et vérifiée avant la suivante (échecs différés compris)
+    private void copyStandIns(Job job) throws Exception {
+        int rounds = 0;
+        while (!job.promoted.isEmpty() && !job.isCancelled.getAsBoolean()) {
+            List<FileEntry> wave = new ArrayList<>();
+            for (FileEntry e; (e = job.promoted.poll()) != null; ) wave.add(e);
+            job.setTotal(job.total + wave.size());
+            if (job.devices == null) {
+                runBounded(job, wave, false);
+            } else {
+                runPerDevice(job, wave, false);
+            }
+            job.durable.flush();
+            if (job.verifier != null) job.verifier.drain(job.isCancelled);
+            rounds++;
         }
+        job.logger.accept("Dédup : " + job.promotedCount.get() + " doublons copiés à la place d'un original en échec ("
+                + rounds + " vagues)");
+    }
 
-        int threads = Math.max(1, cfg.threads());
-        int maxIo = Math.max(1, cfg.maxIo());
-        int progressEvery = Math.max(1, cfg.progressEvery());
+    // ------------------ Étape de validation ------------------
+    // Lectures courtes (en-tête + fin de fichier) sur validateThreads threads, en amont de la copie :
+    // la copie ne reçoit que des fichiers valides et n'a plus rien à relire.
+    private List<FileEntry> runValidation(Job job, List<FileEntry> files) throws InterruptedException {
+        long t0 = System.nanoTime();
+        int n = Math.min(job.cfg.validateThreads(), Math.max(1, files.size()));
+        String[] verdicts = new String[files.size()];
+        AtomicInteger next = new AtomicInteger(0);
+        ExecutorService pool = Executors.newFixedThreadPool(n);
+        try {
+            for (int w = 0; w < n; w++) {
+                pool.execute(() -> {
+                    int i;
+                    while (!job.isCancelled.getAsBoolean() && (i = next.getAndIncrement()) < files.size()) {
+                        verdicts[i] = job.validate(files.get(i).path());
+                    }
+                });
+            }
+            pool.shutdown();
+            while (!pool.awaitTermination(100, TimeUnit.MILLISECONDS)) {
+                if (job.isCancelled.getAsBoolean()) break;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<FileEntry> valid = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            if (verdicts[i] == null) {
+                valid.add(files.get(i));
+            } else {
+                job.stageRejected.incrementAndGet();
+                job.reject(files.get(i), verdicts[i]);
+            }
+        }
+        job.prevalidated = true;
+        job.logger.accept(String.format("Validation : %d rejetés sur %d (%d threads, %d ms)",
+                files.size() - valid.size(), files.size(), n, (System.nanoTime() - t0) / 1_000_000));
+        return valid;
+    }
 
-        ExecutorService pool = Executors.newFixedThreadPool(threads);
-        Semaphore ioLimiter = new Semaphore(maxIo);
+    // ------------------ Moves même périphérique ------------------
+    // Renommages = métadonnées seules : passe dédiée à forte concurrence, hors limiteur I/O,
+    // triée par dossier source (entrées de répertoire voisines, verrous de dossier moins disputés).
+    // Renvoie les fichiers restants (autre périphérique) pour le chemin de copie bridé.
+    private List<FileEntry> runRenames(Job job, List<FileEntry> files) throws InterruptedException {
+        List<FileEntry> same = new ArrayList<>();
+        List<FileEntry> cross = new ArrayList<>();
+        for (FileEntry e : files) (job.links.sameStore(e.path()) ? same : cross).add(e);
+        if (same.isEmpty()) return cross;
 
-        AtomicInteger done = new AtomicInteger(0);
-        AtomicInteger copied = new AtomicInteger(0);
-        AtomicInteger skipped = new AtomicInteger(0);
-        AtomicInteger corrupted = new AtomicInteger(0);
-        AtomicInteger failed = new AtomicInteger(0);
-        long[] totalBytes = new long[]{0L};
-        Object bytesLock = new Object();
+        // tri par date demandé : l'ordre d'origine est conservé
+        if (!job.cfg.sortByDate()) same.sort(Comparator.comparing(FileEntry::path));
+        job.logger.accept("Déplacements : " + same.size() + " renommages (même périphérique), "
+                + cross.size() + " copies vérifiées");
 
+        int n = Math.min(RENAME_WORKERS, same.size());
+        AtomicInteger next = new AtomicInteger(0);
+        ExecutorService pool = Executors.newFixedThreadPool(n);
         try {
-            List<Future<?>> futures = new ArrayList<>(total);
+            for (int w = 0; w < n; w++) {
+                pool.execute(() -> {
+                    int i;
+                    while (!job.isCancelled.getAsBoolean() && (i = next.getAndIncrement()) < same.size()) {
+                        job.process(same.get(i));
+                    }
+                });
+            }
+            pool.shutdown();
+            while (!pool.awaitTermination(100, TimeUnit.MILLISECONDS)) {
+                if (job.isCancelled.getAsBoolean()) break;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return cross;
+    }
 
-            for (Path src : files) {
-                if (isCancelled.getAsBoolean()) break;
+    // ------------------ Soumission bornée ------------------
+    // Fenêtre de O(threads) tâches en vol au lieu d'une Future par fichier.
+    // batchSmall : les petits fichiers consécutifs sont regroupés en une seule tâche.
+    private void runBounded(Job job, List<FileEntry> files, boolean batchSmall) throws InterruptedException {
+        int window = job.workers * 2;
+        Semaphore inFlight = new Semaphore(window);
+        AtomicInteger peak = new AtomicInteger(0);
+        int tasks = 0;
 
-                futures.add(pool.submit(() -> {
-                    if (isCancelled.getAsBoolean()) return;
+        ExecutorService pool = job.newWorkerPool();
+        try {
+            int i = 0;
+            while (i < files.size()) {
+                if (job.isCancelled.getAsBoolean()) break;
 
-                    try {
-                        ioLimiter.acquire();
-
-                        // Validation rapide PDF uniquement
-                        String ext = extOf(src);
-                        if (cfg.validateFast() && "pdf".equals(ext) && !looksLikePdfFast(src)) {
-                            corrupted.incrementAndGet();
-                            if (cfg.verboseLog()) logger.accept("[CORRUPTED] " + src.toAbsolutePath());
-                            return;
+                int from = i;
+                i = batchSmall ? batchEnd(files, i) : i + 1;
+                List<FileEntry> unit = files.subList(from, i);
+
+                // attente d'une place dans la fenêtre, en restant réactif au Stop
+                boolean cancelled = false;
+                while (!inFlight.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                    if (job.isCancelled.getAsBoolean()) { cancelled = true; break; }
+                }
+                if (cancelled) break;
+                peak.accumulateAndGet(window - inFlight.availablePermits(), Math::max);
+                tasks++;
+
+                try {
+                    pool.execute(() -> {
+                        try {
+                            for (FileEntry entry : unit) job.process(entry);
+                        } finally {
+                            inFlight.release();
                         }
+                    });
+                } catch (RejectedExecutionException ex) {
+                    inFlight.release();
+                    throw ex;
+                }
+            }
+
+            // attente de la fin des tâches en vol (toutes les places rendues)
+            while (!inFlight.tryAcquire(window, 100, TimeUnit.MILLISECONDS)) {
+                if (job.isCancelled.getAsBoolean()) break;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        if (batchSmall) {
+            job.logger.accept("Ordonnancement par taille : " + files.size() + " fichiers en " + tasks + " tâches");
+        }
+        // ~88 octets par fichier évités : FutureTask + lambda + nœud de file + slot de liste
+        long savedKb = Math.max(0, files.size() - peak.get()) * 88L / 1024;
+        job.logger.accept("Tâches en vol max : " + peak.get() + " (au lieu de " + files.size()
+                + " futures, ~" + savedKb + " Ko de heap évités)");
+    }
+
+    // ------------------ Un pool par périphérique ------------------
+    // Chaque périphérique (FileStore source -> destination) avance à son rythme :
+    // un disque lent n'occupe que ses propres workers et permis.
+    private void runPerDevice(Job job, List<FileEntry> files, boolean batchSmall) throws Exception {
+        Map<DeviceRegistry.Device, List<FileEntry>> groups = new LinkedHashMap<>();
+        for (FileEntry e : files) {
+            groups.computeIfAbsent(job.devices.deviceFor(e.path()), d -> new ArrayList<>()).add(e);
+        }
+        job.logger.accept("Périphériques : " + groups.size());
+
+        ExecutorService lanes = Executors.newFixedThreadPool(groups.size());
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (var g : groups.entrySet()) {
+                running.add(lanes.submit(() -> {
+                    job.logger.accept("[" + g.getKey().key() + "] " + g.getValue().size() + " fichiers");
+                    runBounded(job, g.getValue(), batchSmall);
+                    return null;
+                }));
+            }
+            for (Future<?> f : running) {
+                if (job.isCancelled.getAsBoolean()) break;
+                f.get();
+            }
+        } finally {
+            lanes.shutdownNow();
+        }
+    }
+
+    // Fin (exclusive) du lot commençant à i : un gros fichier seul, ou plusieurs petits
+    private static int batchEnd(List<FileEntry> files, int i) {
+        if (files.get(i).size() >= SMALL_FILE_BYTES) return i + 1;
+
+        long bytes = 0;
+        int end = i;
+        while (end < files.size() && end - i < BATCH_MAX_FILES) {
+            long sz = files.get(end).size();
+            if (sz >= SMALL_FILE_BYTES || bytes + sz > BATCH_MAX_BYTES) break;
+            bytes += sz;
+            end++;
+        }
+        return Math.max(end, i + 1);
+    }
+
+    // ------------------ Pipeline scan -> copie ------------------
+    // Le walker alimente des files bornées (backpressure) que les workers vident immédiatement.
+    // Une file + un pool par périphérique si perDeviceIo, sinon une seule.
+    private void runPipelined(Job job, FileScanner scanner, String types) throws Exception {
+        Map<Object, Lane> lanes = new ConcurrentHashMap<>();
+        AtomicBoolean walkDone = new AtomicBoolean(false);
+
+        try {
+            try {
+                scanner.walk(job.isCancelled, e -> {
+                    job.discovered.incrementAndGet();
+                    offer(job, lanes, walkDone, e);
+                });
+            } finally {
+                walkDone.set(true);
+            }
+
+            job.setTotal(job.discovered.get());
+            job.logger.accept("Les fichiers trouvés (types : " + types + ") : " + job.discovered.get());
+
+            awaitLanes(job, lanes);
+        } finally {
+            lanes.values().forEach(l -> l.pool.shutdownNow());
+        }
+
+        job.progress.accept(1.0);
+    }
+
+    // ------------------ Tri par date sur disque ------------------
+    // Le walk remplit des runs triés (FileTable déversées sur disque au-delà de sortRunEntries),
+    // puis la fusion k voies alimente les files des workers au fur et à mesure : la liste
+    // complète n'est jamais en mémoire. Étape de validation dédiée et lot de renommages
+    // (qui exigent la liste) : faits par les workers dans ce mode.
+    private void runSpilled(Job job, FileScanner scanner, String types) throws Exception {
+        CollectorConfig cfg = job.cfg;
+        if (SCHEDULE_SIZE.equals(cfg.schedulePolicy())) {
+            job.logger.accept("Tri par date prioritaire : ordonnancement par taille ignoré");
+        }
+        if (cfg.validateStructure() && cfg.validateThreads() > 0 && !cfg.fusedCopy()) {
+            job.logger.accept("Tri sur disque : validation faite par les workers (étape dédiée ignorée)");
+        }
+
+        try (ExternalSorter sorter = new ExternalSorter(job.dest, cfg.sortRunEntries())) {
+            try {
+                scanner.walk(job.isCancelled, sorter::add);
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            if (job.isCancelled.getAsBoolean()) return;
+
+            int total = sorter.size();
+            job.logger.accept("Les fichiers trouvés (types : " + types + ") : " + total
+                    + " (tri sur disque : " + sorter.runCount() + " runs de " + cfg.sortRunEntries() + " max)");
+            if (total == 0) {
+                job.progress.accept(1.0);
+                return;
+            }
+            job.setTotal(total);
+
+            Map<Object, Lane> lanes = new ConcurrentHashMap<>();
+            AtomicBoolean mergeDone = new AtomicBoolean(false);
+            try {
+                try (ExternalSorter.Merge merge = sorter.merge()) {
+                    while (merge.hasNext() && !job.isCancelled.getAsBoolean()) {
+                        offer(job, lanes, mergeDone, merge.next());
+                    }
+                } catch (UncheckedIOException ex) {
+                    throw ex.getCause();
+                } finally {
+                    mergeDone.set(true);
+                }
+                awaitLanes(job, lanes);
+            } finally {
+                lanes.values().forEach(l -> l.pool.shutdownNow());
+            }
+        }
 
-                        // Destination aplatie (tout dans All_Fichier)
-                        Path destFile = dest.resolve(src.getFileName().toString());
+        job.progress.accept(1.0);
+    }
 
-                        // Copy intelligente: skip si existe déjà même taille, sinon collision -> rename
-                        if (cfg.skipExisting() && Files.exists(destFile)) {
-                            long srcSize = safeSize(src);
-                            long dstSize = safeSize(destFile);
+    // file du périphérique source (une seule sans perDeviceIo) ; put bloquant = backpressure
+    private static void offer(Job job, Map<Object, Lane> lanes, AtomicBoolean producerDone, FileEntry e) {
+        Object key = job.devices == null ? "" : job.devices.deviceFor(e.path());
+        Lane lane = lanes.computeIfAbsent(key, k -> new Lane(job, producerDone));
+        try {
+            // on reste réactif au Stop
+            while (!lane.queue.offer(e, 100, TimeUnit.MILLISECONDS)) {
+                if (job.isCancelled.getAsBoolean()) return;
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
-                            if (srcSize > 0 && srcSize == dstSize) {
-                                skipped.incrementAndGet();
-                                if (cfg.verboseLog()) logger.accept("[SKIP] " + src.toAbsolutePath());
+    private static void awaitLanes(Job job, Map<Object, Lane> lanes) throws InterruptedException {
+        for (Lane lane : lanes.values()) {
+            lane.pool.shutdown();
+            while (!lane.pool.awaitTermination(200, TimeUnit.MILLISECONDS)) {
+                if (job.isCancelled.getAsBoolean()) break;
+            }
+        }
+    }
+
+    // File bornée + workers dédiés
+    private static final class Lane {
+        final BlockingQueue<FileEntry> queue;
+        final ExecutorService pool;
+
+        // walkDone : producteur (walk ou fusion du tri sur disque) terminé
+        Lane(Job job, AtomicBoolean walkDone) {
+            this.queue = new ArrayBlockingQueue<>(Math.max(64, job.workers * 64));
+            this.pool = job.newWorkerPool();
+            for (int i = 0; i < job.workers; i++) {
+                pool.execute(() -> {
+                    try {
+                        while (!job.isCancelled.getAsBoolean()) {
+                            FileEntry e = queue.poll(100, TimeUnit.MILLISECONDS);
+                            if (e != null) {
+                                job.process(e);
+                            } else if (walkDone.get() && queue.isEmpty()) {
                                 return;
-                            } else {
-                                destFile = uniqueName(destFile);
                             }
-                        } else if (Files.exists(destFile)) {
-                            // si skipExisting désactivé => éviter écrasement quand même
-                            destFile = uniqueName(destFile);
                         }
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+        }
+    }
+
+    // ------------------ Traitement d'un fichier (état partagé d'un run) ------------------
+    private static final class Job {
+        final CollectorConfig cfg;
+        final Path dest;
+        final Consumer<Double> progress;
+        final Consumer<String> logger;
+        final BooleanSupplier isCancelled;
+
+        final int threads;
+        final int workers; // threads (pool fixe) ou VIRTUAL_MAX_IO (threads virtuels)
+        final UnaryOperator<IoLimiter> limiterDecorator;
+        final int progressEvery;
+        final IoLimiter ioLimiter;
+        final DeviceRegistry devices; // null => limiteur global unique
+        ScanIndex index;              // index incrémental en construction (null si désactivé)
+        JobJournal journal;           // journal append-only du run
+        JobJournal.Replay replay;     // journal précédent (null si pas de reprise)
+        final DestNameIndex names;
+        final LinkPlacer links;       // mode hardlink / reflink (inactif en mode copy)
+        final DestLayout layout;
+        final AtomicInteger resumedSkips = new AtomicInteger(0);
+        final AtomicInteger partialRedone = new AtomicInteger(0);
+        final CopyMetrics copyMetrics;
+
+        // gros fichiers : copie par plages parallèles (pool dédié, évite l'auto-blocage des workers)
+        final long chunkedThreshold;
+        final ExecutorService chunkPool;
+        final ChunkedCopier chunkedCopier;
+        final DoubleAdder partialDone = new DoubleAdder();
+
+        // copie fusionnée (une lecture : validation + empreinte au fil de l'eau)
+        final FusedCopier fusedCopier = new FusedCopier();
+        final FormatValidators validators;
+        final CopyVerifier verifier;  // null si vérification désactivée
+        final DurableWriter durable;  // publication des .part (renommage, fsync selon la durabilité)
+        HashCache hashCache;          // empreintes persistantes (mode dédup), null sinon
+
+        // total inconnu (-1) tant que le walk du mode pipeline n'est pas terminé
+        volatile int total = -1;
+        final AtomicInteger discovered = new AtomicInteger(0);
+
+        final long startNanos = System.nanoTime();
+        final AtomicInteger done = new AtomicInteger(0);
+        final AtomicInteger copied = new AtomicInteger(0);
+        final AtomicInteger skipped = new AtomicInteger(0);
+        final AtomicInteger duplicates = new AtomicInteger(0);
+        // dédup : chemin de l'original -> doublons écartés, à copier à sa place s'il n'arrive pas
+        final Map<Path, Deque<FileEntry>> standIns = new ConcurrentHashMap<>();
+        final Queue<FileEntry> promoted = new ConcurrentLinkedQueue<>();
+        final AtomicInteger promotedCount = new AtomicInteger(0);
+        final AtomicInteger quarantined = new AtomicInteger(0);
+        final AtomicInteger stageRejected = new AtomicInteger(0); // rejetés par l'étape de validation
+        volatile boolean prevalidated;  // étape de validation dédiée déjà passée
+        volatile boolean quarantineReady;
+        final AtomicInteger renamed = new AtomicInteger(0);    // move : renommage même FileStore
+        final AtomicInteger crossMoved = new AtomicInteger(0); // move : copie vérifiée + suppression
+        final AtomicInteger corrupted = new AtomicInteger(0);
+        final AtomicInteger failed = new AtomicInteger(0);
+        final LongAdder totalBytes = new LongAdder();
+
+        Job(CollectorConfig cfg, Path dest, Consumer<Double> progress, Consumer<String> logger, BooleanSupplier isCancelled,
+            UnaryOperator<IoLimiter> limiterDecorator, Set<Path> staleTemps) throws IOException {
+            this.cfg = cfg;
+            this.dest = dest;
+            this.progress = progress;
+            this.logger = logger;
+            this.isCancelled = isCancelled;
+            this.threads = Math.max(1, cfg.threads());
+            this.workers = cfg.virtualThreads() ? Math.max(threads, VIRTUAL_MAX_IO) : threads;
+            this.limiterDecorator = limiterDecorator;
+            this.progressEvery = Math.max(1, cfg.progressEvery());
+            this.ioLimiter = newLimiter();
+            this.devices = cfg.perDeviceIo() ? new DeviceRegistry(dest, this::newLimiter) : null;
+            this.chunkedThreshold = cfg.chunkedThresholdMb() <= 0 ? Long.MAX_VALUE : cfg.chunkedThresholdMb() * 1024L * 1024L;
+            this.chunkPool = chunkedThreshold == Long.MAX_VALUE ? null : Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "chunk-copy");
+                t.setDaemon(true);
+                return t;
+            });
+            this.chunkedCopier = chunkPool == null ? null : new ChunkedCopier(chunkPool, this::chunkDone);
+            CopyStrategy fixed = CopyStrategies.byName(cfg.copyStrategy());
+            if (fixed == CopyStrategies.MAPPED && cfg.moveInsteadOfCopy()) {
+                // source mappée = non supprimable sous Windows avant le GC
+                logger.accept("Copie mapped incompatible avec le déplacement : buffered utilisé");
+                fixed = CopyStrategies.BUFFERED;
+            }
+            this.copyMetrics = new CopyMetrics(fixed,
+                    chunkedCopier == null ? List.of(fusedCopier) : List.of(chunkedCopier, fusedCopier));
+            this.links = new LinkPlacer(cfg.collectMode(), dest);
+            this.layout = new DestLayout(cfg.destLayout(), cfg.sourceDir(), dest);
+            this.validators = new FormatValidators(cfg.validateStructure());
+            // peu de threads de relecture : la vérification ne doit pas concurrencer les copies
+            this.verifier = cfg.verifyCopies()
+                    ? new CopyVerifier(Math.max(1, cfg.maxIo() / 2), logger, this::recopy, this::verifyBroken)
+                    : null;
+            this.durable = new DurableWriter(cfg.durability());
+            this.names = new DestNameIndex(staleTemps);
+        }
+
+        // adaptatif : inutile de dépasser le nombre de workers
+        private IoLimiter newLimiter() {
+            return limiterDecorator.apply(cfg.adaptiveIo()
+                    ? new AdaptiveIoLimiter(Math.max(1, cfg.maxIo()), Math.max(workers, cfg.maxIo()))
+                    : new FixedIoLimiter(cfg.maxIo()));
+        }
+
+        // un thread virtuel par fichier, ou pool fixe de plateforme
+        ExecutorService newWorkerPool() {
+            return cfg.virtualThreads()
+                    ? Executors.newVirtualThreadPerTaskExecutor()
+                    : Executors.newFixedThreadPool(threads);
+        }
+
+        void close() {
+            if (chunkPool != null) chunkPool.shutdownNow();
+            if (verifier != null) verifier.close();
+            try {
+                durable.close();
+            } catch (IOException ignored) {
+                // chaque fichier du lot a déjà reçu son échec
+            }
+        }
 
-                        // Copie / move
-                        if (cfg.moveInsteadOfCopy()) {
-                            Files.move(src, destFile, StandardCopyOption.REPLACE_EXISTING);
+        // plage terminée d'un gros fichier : progression fractionnaire (total connu seulement)
+        private void chunkDone(double fraction) {
+            partialDone.add(fraction);
+            int t = total;
+            if (t > 0 && fraction > 0) {
+                progress.accept(Math.min(1.0, (done.get() + partialDone.sum()) / t));
+            }
+        }
+
+        void setTotal(int total) {
+            this.total = total;
+        }
+
+        void process(FileEntry entry) {
+            if (isCancelled.getAsBoolean()) return;
+
+            Path src = entry.path();
+
+            // Reprise : déjà fait d'après le journal (source inchangée) => ignoré sans I/O
+            JobJournal.Done prior = replay == null ? null : replay.done(src);
+            if (prior != null && prior.size() == entry.size() && prior.mtime() == entry.lastModified()) {
+                skipped.incrementAndGet();
+                resumedSkips.incrementAndGet();
+                outcome(src, ScanIndex.SKIPPED);
+                if (cfg.verboseLog()) logger.accept("[RESUME] " + src.toAbsolutePath());
+                reportDone();
+                return;
+            }
+
+            // copie interrompue au run précédent : son nom est déjà réservé
+            String partial = replay == null ? null : replay.pending(src);
+
+            // move sur le même FileStore : simple renommage, pas de permis I/O (aucun octet lu/écrit)
+            boolean rename = cfg.moveInsteadOfCopy() && links.sameStore(src);
+            // copie par plages : les octets sont comptés au limiteur par chaque plage
+            boolean chunked = entry.size() >= chunkedThreshold;
+            // copie fusionnée : la validation se fait pendant la copie (gros fichiers : copie par plages)
+            boolean fused = cfg.fusedCopy() && !cfg.moveInsteadOfCopy() && !links.active()
+                    && entry.size() < chunkedThreshold;
+
+            DeviceRegistry.Device device = devices == null || rename ? null : devices.deviceFor(src);
+            IoLimiter limiter = device == null ? ioLimiter : device.gate();
+            boolean acquired = false;
+            long ioBytes = 0L;
+            long ioStart = 0L;
+            Path verifyDest = null; // copie à relire (mode vérification)
+            Long sourceCrc = null;  // CRC32C source déjà calculé par la copie fusionnée
+            boolean deferred = false; // publication en lot : fin de traitement faite par le flush
+            Path reserved = null;     // nom pris dans l'index, rendu si rien n'est publié dessous
+            boolean published = false;
+            try {
+                if (!rename) {
+                    limiter.acquire();
+                    acquired = true;
+                }
+                ioStart = System.nanoTime();
+
+                // Validation PDF (sauf si déjà faite par l'étape de validation dédiée)
+                if (!prevalidated && !fused) {
+                    String bad = validate(src);
+                    if (bad != null) {
+                        if (partial != null) names.release(Path.of(partial));
+                        reject(entry, bad);
+                        return;
+                    }
+                }
+
+                // Destination selon l'organisation choisie (aplatie par défaut : tout dans All_Fichier)
+                Path destFile = layout.resolve(entry);
+
+                // Reprise : copie interrompue => refaite sous le nom réservé au démarrage
+                // (libre dans l'index : seul un temporaire peut rester sur le disque)
+                if (partial != null) {
+                    destFile = Path.of(partial);
+                    Files.deleteIfExists(DurableWriter.tempFor(destFile));
+                    reserved = destFile;
+                    partialRedone.incrementAndGet();
+                    if (cfg.verboseLog()) logger.accept("[REDO] " + destFile.toAbsolutePath());
+                } else {
+                    // Copy intelligente: skip si présent avant le run avec la même taille, sinon collision -> rename
+                    // (index des noms en mémoire : pas de Files.exists, réservation atomique)
+                    long dstSize = names.existingSize(destFile);
+                    if (cfg.skipExisting() && dstSize >= 0 && entry.size() > 0 && entry.size() == dstSize) {
+                        skipped.incrementAndGet();
+                        outcome(src, ScanIndex.SKIPPED);
+                        if (cfg.verboseLog()) logger.accept("[SKIP] " + src.toAbsolutePath());
+                        return;
+                    }
+                    // si skipExisting désactivé => éviter écrasement quand même
+                    destFile = names.reserve(destFile);
+                    reserved = destFile;
+                }
+
+                journal.begin(src, destFile);
+
+                // Copie / move
+                if (rename) {
+                    renameInto(src, destFile);
+                    published = true;
+                    renamed.incrementAndGet();
+                } else if (cfg.moveInsteadOfCopy()) {
+                    // autre périphérique : copie bridée, vérifiée, publiée, puis seulement suppression de la source
+                    Path part = DurableWriter.tempFor(destFile);
+                    try {
+                        copyBytes(entry, part, limiter);
+                        if (Files.mismatch(src, part) != -1L) {
+                            throw new IOException("vérification avant suppression échouée, source conservée");
+                        }
+                        durable.commitNow(part, destFile);
+                    } catch (IOException ex) {
+                        Files.deleteIfExists(part);
+                        throw ex;
+                    }
+                    published = true;
+                    Files.delete(src);
+                    crossMoved.incrementAndGet();
+                } else if (links.place(src, destFile, entry.size())) {
+                    // lien / clone : aucun octet copié
+                    published = true;
+                } else {
+                    // écrit sous un nom temporaire : un crash ne laisse jamais de fichier tronqué sous le nom final
+                    Path part = DurableWriter.tempFor(destFile);
+                    try {
+                        if (fused) {
+                            sourceCrc = copyFused(entry, part);
                         } else {
-                            Files.copy(src, destFile, StandardCopyOption.REPLACE_EXISTING);
+                            copyBytes(entry, part, limiter);
                         }
+                    } catch (IOException ex) {
+                        Files.deleteIfExists(part);
+                        throw ex;
+                    }
+                    deferred = !publish(entry, part, destFile, sourceCrc);
+                    // en lot : le flush rend le nom lui-même en cas d'échec
+                    published = true;
+                    verifyDest = destFile;
+                }
 
-                        copied.incrementAndGet();
+                ioBytes = entry.size();
+                if (device != null) device.record(ioBytes, ioStart, System.nanoTime());
+                if (!deferred) committed(entry, destFile);
 
-                        long sz = safeSize(destFile);
-                        synchronized (bytesLock) {
-                            totalBytes[0] += sz;
-                        }
+            } catch (FusedCopier.RejectedException ex) {
+                // contenu refusé pendant la copie : le .part est déjà supprimé
+                reject(entry, ex.getMessage());
+            } catch (Exception ex) {
+                failed.incrementAndGet();
+                outcome(src, ScanIndex.FAILED);
+                logger.accept("[FAIL] " + src.toAbsolutePath() + " : " + ex.getMessage());
+                lost(entry);
+            } finally {
+                if (reserved != null && !published) names.release(reserved);
+                if (acquired) limiter.release(chunked ? 0L : ioBytes, System.nanoTime() - ioStart);
+                reportDone();
+            }
 
-                        if (cfg.verboseLog()) {
-                            logger.accept("[OK] " + src.toAbsolutePath() + " -> " + destFile.toAbsolutePath());
-                        }
+            // relecture confiée à l'étape de vérification, permis I/O déjà rendu
+            if (!deferred && verifyDest != null) submitVerify(entry, verifyDest, sourceCrc);
+        }
 
-                    } catch (Exception ex) {
-                        failed.incrementAndGet();
-                        logger.accept("[FAIL] " + src.toAbsolutePath() + " : " + ex.getMessage());
-                    } finally {
-                        ioLimiter.release();
-
-                        int d = done.incrementAndGet();
-                        if (d % progressEvery == 0 || d == total) {
-                            progress.accept(d / (double) total);
-                            if (!cfg.verboseLog()) {
-                                logger.accept("Progress: " + (int) Math.round((d * 100.0) / total) + "% (" + d + "/" + total + ")");
-                            }
+        // true : publié tout de suite ; false : en lot, committed() + vérification appelés par le flush
+        private boolean publish(FileEntry entry, Path part, Path destFile, Long sourceCrc) throws IOException {
+            return durable.commit(part, destFile,
+                    () -> {
+                        try {
+                            committed(entry, destFile);
+                        } catch (IOException ex) {
+                            // copie en place mais non journalisée : une reprise la refera
+                            logger.accept("[JOURNAL] " + entry.path().toAbsolutePath() + " : " + ex.getMessage());
                         }
+                        submitVerify(entry, destFile, sourceCrc);
+                    },
+                    ex -> {
+                        names.release(destFile);
+                        failed.incrementAndGet();
+                        outcome(entry.path(), ScanIndex.FAILED);
+                        logger.accept("[FAIL] " + entry.path().toAbsolutePath() + " : " + ex.getMessage());
+                        lost(entry);
+                    });
+        }
+
+        // contenu absent de la destination (échec d'I/O, copie non conforme) : doublon suivant promu.
+        // Pas sur un rejet de validation : le doublon, de contenu identique, serait rejeté aussi.
+        void lost(FileEntry entry) {
+            if (standIns.isEmpty()) return;
+            Deque<FileEntry> rest = standIns.remove(entry.path());
+            FileEntry next = rest == null ? null : rest.poll();
+            if (next == null) return;
+            if (!rest.isEmpty()) standIns.put(next.path(), rest);
+            duplicates.decrementAndGet();
+            promotedCount.incrementAndGet();
+            promoted.add(next);
+            if (cfg.verboseLog()) logger.accept("[DUP] " + next.path() + " remplace " + entry.path());
+        }
+
+        // destination visible sous son nom final
+        private void committed(FileEntry entry, Path destFile) throws IOException {
+            Path src = entry.path();
+            journal.done(src, destFile, entry.size(), entry.lastModified());
+            copied.incrementAndGet();
+            outcome(src, ScanIndex.COPIED);
+            totalBytes.add(entry.size());
+
+            if (cfg.verboseLog()) {
+                logger.accept("[OK] " + src.toAbsolutePath() + " -> " + destFile.toAbsolutePath());
+            }
+        }
+
+        private void submitVerify(FileEntry entry, Path destFile, Long sourceCrc) {
+            if (verifier == null || isCancelled.getAsBoolean()) return;
+            try {
+                verifier.submit(entry, destFile, sourceCrc);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // copie restée fausse après relecture + recopie : comptée en échec
+        private void verifyBroken(FileEntry entry, Path destFile) {
+            names.release(destFile);
+            try {
+                // DONE déjà journalisé : annulé, sinon une reprise ignorerait ce fichier sans copie
+                journal.undone(entry.path(), destFile);
+            } catch (IOException ex) {
+                logger.accept("[JOURNAL] " + entry.path().toAbsolutePath() + " : " + ex.getMessage());
+            }
+            copied.decrementAndGet();
+            totalBytes.add(-entry.size());
+            failed.incrementAndGet();
+            outcome(entry.path(), ScanIndex.FAILED);
+            logger.accept("[FAIL] " + entry.path().toAbsolutePath() + " : copie non conforme après vérification, "
+                    + destFile.getFileName() + " supprimé");
+            lost(entry);
+        }
+
+        // recopie demandée par la vérification : même chemin qu'une copie de worker
+        // (permis I/O, .part, publication selon la durabilité)
+        private void recopy(FileEntry entry, Path destFile) throws IOException {
+            DeviceRegistry.Device device = devices == null ? null : devices.deviceFor(entry.path());
+            IoLimiter limiter = device == null ? ioLimiter : device.gate();
+            try {
+                limiter.acquire();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException("recopie interrompue", ex);
+            }
+            long t0 = System.nanoTime();
+            Path part = DurableWriter.tempFor(destFile);
+            try {
+                copyBytes(entry, part, limiter);
+                durable.commitNow(part, destFile);
+            } catch (IOException ex) {
+                Files.deleteIfExists(part);
+                throw ex;
+            } finally {
+                limiter.release(entry.size() >= chunkedThreshold ? 0L : entry.size(), System.nanoTime() - t0);
+            }
+        }
+
+        // null si valide (ou non vérifié), sinon raison du rejet ; validateur choisi par extension
+        String validate(Path src) {
+            if (!cfg.validateFast() && !cfg.validateStructure()) return null;
+            return validators.check(src);
+        }
+
+        // corrompu : compté, et mis en quarantaine en validation structurelle
+        void reject(FileEntry entry, String reason) {
+            Path src = entry.path();
+            corrupted.incrementAndGet();
+            outcome(src, ScanIndex.CORRUPTED);
+            if (cfg.verboseLog()) logger.accept("[CORRUPTED] " + src.toAbsolutePath() + " (" + reason + ")");
+            if (!cfg.validateStructure()) return;
+
+            try {
+                Path target = quarantineDir().resolve(src.getFileName().toString());
+                // déjà en quarantaine (run précédent) : rien à refaire
+                if (cfg.skipExisting() && names.existingSize(target) == entry.size()) return;
+                target = names.reserve(target);
+                try {
+                    if (cfg.moveInsteadOfCopy()) {
+                        Files.move(src, target);
+                    } else {
+                        Files.copy(src, target);
                     }
-                }));
+                } catch (IOException ex) {
+                    names.release(target);
+                    throw ex;
+                }
+                quarantined.incrementAndGet();
+            } catch (IOException ex) {
+                logger.accept("[FAIL] quarantaine " + src.toAbsolutePath() + " : " + ex.getMessage());
             }
+        }
 
-            for (Future<?> f : futures) {
-                if (isCancelled.getAsBoolean()) break;
-                try { f.get(); } catch (Exception ignored) {}
+        private Path quarantineDir() throws IOException {
+            Path q = dest.resolve(QUARANTINE_DIR);
+            if (!quarantineReady) {
+                Files.createDirectories(q);
+                quarantineReady = true;
             }
+            return q;
+        }
 
-        } finally {
-            pool.shutdownNow();
+        // limiter : celui dont l'appelant tient un permis
+        private void copyBytes(FileEntry entry, Path destFile, IoLimiter limiter) throws IOException {
+            if (entry.size() >= chunkedThreshold) {
+                copyChunked(entry, destFile, limiter);
+                return;
+            }
+            CopyStrategy strategy = copyMetrics.choose(entry.size());
+            long t0 = System.nanoTime();
+            strategy.copy(entry.path(), destFile, entry.size());
+            copyMetrics.record(strategy, entry.size(), System.nanoTime() - t0);
         }
 
-        progress.accept(1.0);
+        // le permis du worker est cédé aux plages (un permis chacune), repris ensuite :
+        // maxIo reste le plafond réel des flux, sans attente imbriquée
+        private void copyChunked(FileEntry entry, Path destFile, IoLimiter limiter) throws IOException {
+            limiter.release(0L, 0L);
+            long t0 = System.nanoTime();
+            try {
+                chunkedCopier.copy(entry.path(), destFile, entry.size(), limiter);
+                copyMetrics.record(chunkedCopier, entry.size(), System.nanoTime() - t0);
+            } finally {
+                reacquire(limiter);
+            }
+        }
+
+        // le permis doit être rendu par l'appelant : repris même si le thread est interrompu
+        private static void reacquire(IoLimiter limiter) {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    limiter.acquire();
+                    break;
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+
+        // CRC32C de la source si la vérification est active (null sinon)
+        private Long copyFused(FileEntry entry, Path destFile) throws IOException {
+            List<StreamInspector> inspectors = new ArrayList<>(2);
+            FormatValidator v = validators.forExtension(FileScanner.extOf(entry.path()));
+            if (v != null && (cfg.validateFast() || cfg.validateStructure())) {
+                inspectors.add(StreamInspectors.format(v, validators, entry.size()));
+            }
+            // empreinte seulement si le cache sert (dédup) : SHA-256 de tout le contenu n'est pas gratuit
+            StreamInspectors.Hash hash = hashCache == null ? null : new StreamInspectors.Hash();
+            if (hash != null) inspectors.add(hash);
+            StreamInspectors.Crc crc = verifier == null ? null : new StreamInspectors.Crc();
+            if (crc != null) inspectors.add(crc);
 
-        return new CollectorStats(
-                total,
-                copied.get(),
-                skipped.get(),
-                corrupted.get(),
-                failed.get(),
-                totalBytes[0]
-        );
+            long t0 = System.nanoTime();
+            fusedCopier.copy(entry.path(), destFile, inspectors);
+            copyMetrics.record(fusedCopier, entry.size(), System.nanoTime() - t0);
+            // empreinte complète offerte au cache : une dédup ultérieure n'aura rien à relire
+            if (hash != null) hashCache.putFull(entry, hash.digest());
+            return crc == null ? null : crc.value();
+        }
+
+        // renommage atomique quand le FS le permet (jamais de copie+suppression implicite)
+        private static void renameInto(Path src, Path destFile) throws IOException {
+            try {
+                Files.move(src, destFile, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(src, destFile);
+            }
+        }
+
+        void outcome(Path src, byte code) {
+            if (index != null) index.outcome(src, code);
+        }
+
+        private void reportDone() {
+            int d = done.incrementAndGet();
+            int t = total;
+
+            if (t < 0) {
+                // walk en cours : modèle "découverts vs terminés", progression indéterminée
+                if (d % progressEvery == 0) {
+                    progress.accept(-1.0);
+                    if (!cfg.verboseLog()) {
+                        logger.accept("Progress: " + d + " terminés / " + discovered.get() + " découverts (scan en cours)");
+                    }
+                }
+                return;
+            }
+
+            if (d % progressEvery == 0 || d == t) {
+                progress.accept(d / (double) Math.max(1, t));
+                if (!cfg.verboseLog()) {
+                    logger.accept("Progress: " + (int) Math.round((d * 100.0) / Math.max(1, t)) + "% (" + d + "/" + t + ")");
+                }
+            }
+        }
+
+        CollectorStats stats() {
+            return new CollectorStats(
+                    (total < 0 ? discovered.get() : total) + duplicates.get() + stageRejected.get(),
+                    copied.get(),
+                    links.linked.get(),
+                    links.cloned.get(),
+                    links.fallbacks.get(),
+                    renamed.get(),
+                    crossMoved.get(),
+                    skipped.get(),
+                    duplicates.get(),
+                    corrupted.get(),
+                    quarantined.get(),
+                    failed.get(),
+                    verifier == null ? 0 : verifier.verified.get(),
+                    verifier == null ? 0 : verifier.mismatches.get(),
+                    verifier == null ? 0 : verifier.repaired.get(),
+                    totalBytes.sum(),
+                    copyMetrics.snapshot(),
+                    (System.nanoTime() - startNanos) / 1_000_000,
+                    ioLimiter.currentLimit(),
+                    ioLimiter.curve(),
+                    devices == null ? List.of() : devices.snapshot(),
+                    validators.snapshot()
+            );
+        }
     }
 
     // ------------------ SCAN (dry run) ------------------
     public ScanResult scan(CollectorConfig cfg, Consumer<String> logger, BooleanSupplier isCancelled) throws Exception {
-        var countByExt = new HashMap<String, Integer>();
-        var bytesByExt = new HashMap<String, Long>();
-        long totalBytes = 0L;
-        int total = 0;
+        var countByExt = new ConcurrentHashMap<String, Integer>();
+        var bytesByExt = new ConcurrentHashMap<String, Long>();
 
         var allowed = cfg.extensions();
         var source = cfg.sourceDir();
         var dest = cfg.destDir();
 
-        try (var stream = Files.walk(source)) {
-            for (var it = stream.iterator(); it.hasNext();) {
-                if (isCancelled.getAsBoolean()) break;
-
-                var p = it.next();
-                if (!Files.isRegularFile(p)) continue;
-                if (p.startsWith(dest)) continue;
-
-                String ext = extOf(p);
-                if (!allowed.contains(ext)) continue;
+        var totalAcc = new AtomicInteger(0);
+        var bytesAcc = new AtomicLong(0L);
+        // dry run incrémental : seuls les fichiers nouveaux/modifiés sont comptés (index non sauvé)
+        ScanIndex prevIndex = cfg.incremental() ? ScanIndex.load(dest.resolve(ScanIndex.FILE_NAME), source, allowed) : null;
+        ScanIndex scratch = cfg.incremental() ? new ScanIndex(source, allowed) : null;
 
-                total++;
-                countByExt.merge(ext, 1, Integer::sum);
-
-                long sz = safeSize(p);
-                totalBytes += sz;
-                bytesByExt.merge(ext, sz, Long::sum);
-            }
-        }
+        new FileScanner(source, dest, allowed, cfg.scanParallelism(), prevIndex, scratch).walk(isCancelled, e -> {
+            String ext = FileScanner.extOf(e.path());
+            totalAcc.incrementAndGet();
+            bytesAcc.addAndGet(e.size());
+            countByExt.merge(ext, 1, Integer::sum);
+            bytesByExt.merge(ext, e.size(), Long::sum);
+        });
+        int total = totalAcc.get();
+        long totalBytes = bytesAcc.get();
 
         String types = String.join(", ", allowed);
         logger.accept("Les fichiers trouvés (types : " + types + ") : " + total);
@@ -239,46 +1235,4 @@ public class CollectorEngine {
         }
         return new BenchmarkResult(writeMBps, readMBps, effective);
     }
-
-    // ------------------ Helpers ------------------
-    private static String extOf(Path p) {
-        String name = p.getFileName().toString().toLowerCase(Locale.ROOT);
-        int dot = name.lastIndexOf('.');
-        return (dot >= 0 && dot < name.length() - 1) ? name.substring(dot + 1) : "";
-    }
-
-    private static long safeSize(Path p) {
-        try { return Files.size(p); } catch (Exception e) { return 0L; }
-    }
-
-    private long safeLastModified(Path p) {
-        try { return Files.getLastModifiedTime(p).toMillis(); }
-        catch (Exception e) { return Instant.EPOCH.toEpochMilli(); }
-    }
-
-    private static Path uniqueName(Path dest) {
-        String name = dest.getFileName().toString();
-        int dot = name.lastIndexOf('.');
-        String base = (dot >= 0) ? name.substring(0, dot) : name;
-        String ext = (dot >= 0) ? name.substring(dot) : "";
-
-        Path dir = dest.getParent();
-        for (int i = 1; i < 10_000; i++) {
-            Path candidate = dir.resolve(base + " (" + i + ")" + ext);
-            if (!Files.exists(candidate)) return candidate;
-        }
-        return dir.resolve(base + " (" + System.currentTimeMillis() + ")" + ext);
-    }
-
-    private static boolean looksLikePdfFast(Path p) {
-        // fast check: starts with %PDF
-        try (var in = Files.newInputStream(p)) {
-            byte[] head = new byte[4];
-            int n = in.read(head);
-            if (n < 4) return false;
-            return head[0] == '%' && head[1] == 'P' && head[2] == 'D' && head[3] == 'F';
-        } catch (Exception e) {
-            return false;
-        }
-    }
-}
\ No newline at end of file
+}
@@ -1,10 +1,28 @@
 package com.example.pdfcollector;
 
+import java.util.List;
+
 public record CollectorStats(
         int totalFound,
         int copiedOrMoved,
+        int hardLinked,    // dont : créés par lien physique (mode hardlink)
+        int reflinked,     // dont : clones copy-on-write (mode reflink)
+        int linkFallbacks, // mode lien demandé mais copie réelle (autre périphérique, FS non compatible)
+        int renamed,       // move même périphérique : renommage seul
+        int crossMoved,    // move autre périphérique : copie vérifiée puis suppression
         int skipped,       // NEW
+        int duplicates,    // contenu identique à un autre fichier du run (mode dedup)
         int corrupted,
+        int quarantined,   // corrompus placés dans le dossier de quarantaine
         int failed,
-        long totalBytes
+        int verified,      // copies relues et conformes (mode vérification)
+        int verifyMismatches, // écarts détectés à la relecture
+        int verifyRepaired,   // dont corrigés par une recopie
+        long totalBytes,
+        List<CopyStrategyStat> copyStats, // par stratégie et classe de taille
+        long elapsedMillis,                // durée totale du run (makespan)
+        int ioLimit,                       // limite I/O en fin de run
+        List<IoSample> ioCurve,            // évolution limite / débit (mode adaptatif)
+        List<DeviceStat> deviceStats,      // débit par périphérique (mode perDeviceIo)
+        List<FormatStat> validationStats   // coût de la validation par format
 ) { }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.example.pdfcollector;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Déduplication par contenu en trois passes, chaque passe ne traitant que les
+ * fichiers encore en collision :
+ * 1) regroupement par taille (aucune lecture)
+ * 2) empreinte partielle (début + fin du fichier)
+ * 3) empreinte complète, calculée en parallèle
+ * Dans chaque groupe identique, le premier fichier (ordre des chemins) est gardé ; les
+ * autres restent ses remplaçants (Duplicate.original) si sa copie échoue.
+ * Fichiers vides exclus : rien à économiser, et ils formeraient tous un seul groupe.
+ */
+public class ContentDeduplicator {
+
+    public record Duplicate(FileEntry file, FileEntry original) { }
+
+    public record Result(List<FileEntry> unique, List<Duplicate> duplicates, int partialHashed, int fullHashed) { }
+
+    private final ContentHasher hasher;
+    private final int parallelism;
+
+    public ContentDeduplicator(ContentHasher hasher, int parallelism) {
+        this.hasher = hasher;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public Result dedupe(List<FileEntry> files, BooleanSupplier isCancelled) throws Exception {
+        Map<Long, List<FileEntry>> bySize = new HashMap<>();
+        for (FileEntry e : files) bySize.computeIfAbsent(e.size(), k -> new ArrayList<>()).add(e);
+
+        List<List<FileEntry>> candidates = new ArrayList<>();
+        for (List<FileEntry> g : bySize.values()) {
+            if (g.size() > 1 && g.get(0).size() > 0) candidates.add(g);
+        }
+
+        Set<FileEntry> dropped = new HashSet<>();
+        List<Duplicate> duplicates = new ArrayList<>();
+        AtomicInteger partialHashed = new AtomicInteger();
+        AtomicInteger fullHashed = new AtomicInteger();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            // 2) empreinte partielle des groupes de même taille
+            List<FileEntry> toPartial = candidates.stream().flatMap(List::stream).toList();
+            Map<FileEntry, String> partial = hashAll(pool, toPartial, hasher::partialHash, partialHashed, isCancelled);
+
+            List<List<FileEntry>> stillColliding = new ArrayList<>();
+            for (List<FileEntry> g : candidates) {
+                stillColliding.addAll(regroup(g, partial));
+            }
+
+            // 3) empreinte complète des collisions restantes (en parallèle)
+            List<FileEntry> toFull = stillColliding.stream()
+                    .flatMap(List::stream)
+                    // petit fichier : l'empreinte partielle couvre déjà tout le contenu
+                    .filter(e -> e.size() > 2L * ContentHasher.PARTIAL_BLOCK)
+                    .toList();
+            Map<FileEntry, String> full = hashAll(pool, toFull, hasher::fullHash, fullHashed, isCancelled);
+
+            for (List<FileEntry> g : stillColliding) {
+                Map<FileEntry, String> keys = g.get(0).size() > 2L * ContentHasher.PARTIAL_BLOCK ? full : partial;
+                for (List<FileEntry> same : regroup(g, keys)) {
+                    same.sort(Comparator.comparing(FileEntry::path));
+                    FileEntry original = same.get(0);
+                    for (int i = 1; i < same.size(); i++) {
+                        dropped.add(same.get(i));
+                        duplicates.add(new Duplicate(same.get(i), original));
+                    }
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<FileEntry> unique = new ArrayList<>(files.size() - dropped.size());
+        for (FileEntry e : files) {
+            if (!dropped.contains(e)) unique.add(e);
+        }
+        return new Result(unique, duplicates, partialHashed.get(), fullHashed.get());
+    }
+
+    // sous-groupes d'au moins 2 fichiers partageant la même clé (fichiers sans clé = illisibles, gardés)
+    private static List<List<FileEntry>> regroup(List<FileEntry> group, Map<FileEntry, String> keys) {
+        Map<String, List<FileEntry>> byKey = new LinkedHashMap<>();
+        for (FileEntry e : group) {
+            String k = keys.get(e);
+            if (k != null) byKey.computeIfAbsent(k, x -> new ArrayList<>()).add(e);
+        }
+        List<List<FileEntry>> out = new ArrayList<>();
+        for (List<FileEntry> g : byKey.values()) {
+            if (g.size() > 1) out.add(g);
+        }
+        return out;
+    }
+
+    private interface Hash {
+        String apply(FileEntry e) throws IOException;
+    }
+
+    private static Map<FileEntry, String> hashAll(ForkJoinPool pool, List<FileEntry> files, Hash fn,
+                                                  AtomicInteger counter, BooleanSupplier isCancelled)
+            throws InterruptedException, ExecutionException {
+        Map<FileEntry, String> out = new ConcurrentHashMap<>();
+        Function<FileEntry, Void> task = e -> {
+            if (isCancelled.getAsBoolean()) return null;
+            try {
+                out.put(e, fn.apply(e));
+                counter.incrementAndGet();
+            } catch (IOException ignored) {
+                // illisible : pas de clé => jamais considéré comme doublon
+            }
+            return null;
+        };
+        pool.submit(() -> files.parallelStream().forEach(task::apply)).get();
+        return out;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.pdfcollector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Empreintes de contenu (SHA-256) :
+ * - partielle : premier + dernier bloc (PARTIAL_BLOCK octets chacun) et la taille
+ * - complète : lecture en flux de tout le fichier
+ * Avec un HashCache, un fichier inchangé (taille + mtime) n'est pas relu.
+ */
+public class ContentHasher {
+
+    static final int PARTIAL_BLOCK = 64 * 1024;
+    private static final int BUF_SIZE = 1024 * 1024;
+
+    private final HashCache cache; // null => pas de cache
+
+    public ContentHasher() {
+        this(null);
+    }
+
+    public ContentHasher(HashCache cache) {
+        this.cache = cache;
+    }
+
+    public String partialHash(FileEntry e) throws IOException {
+        byte[] cached = cache == null ? null : cache.partial(e);
+        if (cached != null) return HexFormat.of().formatHex(cached);
+
+        byte[] h = computePartial(e);
+        if (cache != null) cache.putPartial(e, h);
+        return HexFormat.of().formatHex(h);
+    }
+
+    public String fullHash(FileEntry e) throws IOException {
+        byte[] cached = cache == null ? null : cache.full(e);
+        if (cached != null) return HexFormat.of().formatHex(cached);
+
+        byte[] h = computeFull(e);
+        if (cache != null) cache.putFull(e, h);
+        return HexFormat.of().formatHex(h);
+    }
+
+    private static byte[] computePartial(FileEntry e) throws IOException {
+        MessageDigest md = sha256();
+        md.update(ByteBuffer.allocate(Long.BYTES).putLong(0, e.size()));
+
+        try (FileChannel ch = FileChannel.open(e.path(), StandardOpenOption.READ)) {
+            long len = ch.size();
+            ByteBuffer buf = ByteBuffer.allocate(PARTIAL_BLOCK);
+            readAt(ch, buf, 0);
+            md.update(buf.flip());
+            if (len > PARTIAL_BLOCK) {
+                buf.clear();
+                readAt(ch, buf, Math.max(PARTIAL_BLOCK, len - PARTIAL_BLOCK));
+                md.update(buf.flip());
+            }
+        }
+        return md.digest();
+    }
+
+    private static byte[] computeFull(FileEntry e) throws IOException {
+        MessageDigest md = sha256();
+        try (FileChannel ch = FileChannel.open(e.path(), StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocateDirect(BUF_SIZE);
+            while (ch.read(buf) != -1) {
+                md.update(buf.flip());
+                buf.clear();
+            }
+        }
+        return md.digest();
+    }
+
+    private static void readAt(FileChannel ch, ByteBuffer buf, long pos) throws IOException {
+        while (buf.hasRemaining()) {
+            int n = ch.read(buf, pos);
+            if (n < 0) break;
+            pos += n;
+        }
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.pdfcollector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs par stratégie de copie et par classe de taille (fichiers, octets, temps).
+ * En mode "auto", chaque classe essaie d'abord ses stratégies candidates (filtrées
+ * par taille) quelques fois, puis garde la plus rapide mesurée (MB/s).
+ */
+public class CopyMetrics {
+
+    static final String[] SIZE_CLASSES = {"<64KB", "<16MB", "<512MB", ">=512MB"};
+    private static final long[] CLASS_LIMITS = {64L * 1024, 16L * 1024 * 1024, 512L * 1024 * 1024};
+
+    private static final int PROBES_PER_STRATEGY = 8;
+
+    private static final List<CopyStrategy> SMALL = List.of(CopyStrategies.FILES, CopyStrategies.BUFFERED);
+    private static final List<CopyStrategy> MEDIUM =
+            List.of(CopyStrategies.FILES, CopyStrategies.TRANSFER, CopyStrategies.BUFFERED);
+    private static final List<CopyStrategy> LARGE = List.of(CopyStrategies.FILES, CopyStrategies.TRANSFER);
+
+    private final CopyStrategy fixed; // null => auto
+    private final List<CopyStrategy> all;
+
+    private final LongAdder[][] files;
+    private final LongAdder[][] bytes;
+    private final LongAdder[][] nanos;
+    private final AtomicIntegerArray probes = new AtomicIntegerArray(SIZE_CLASSES.length);
+
+    // extras : stratégies hors "auto" dont on veut aussi les compteurs (ex: copie par plages)
+    public CopyMetrics(CopyStrategy fixed, List<CopyStrategy> extras) {
+        this.fixed = fixed;
+        List<CopyStrategy> list = new ArrayList<>(CopyStrategies.ALL);
+        list.addAll(extras);
+        this.all = List.copyOf(list);
+        files = newAdders();
+        bytes = newAdders();
+        nanos = newAdders();
+    }
+
+    public CopyStrategy choose(long size) {
+        if (fixed != null) return fixed;
+
+        int c = sizeClass(size);
+        List<CopyStrategy> candidates = candidates(c);
+
+        int probe = probes.getAndIncrement(c);
+        if (probe < PROBES_PER_STRATEGY * candidates.size()) {
+            return candidates.get(probe % candidates.size());
+        }
+
+        CopyStrategy best = candidates.get(0);
+        double bestMbps = -1;
+        for (CopyStrategy s : candidates) {
+            double mbps = mbps(c, all.indexOf(s));
+            if (mbps > bestMbps) { bestMbps = mbps; best = s; }
+        }
+        return best;
+    }
+
+    public void record(CopyStrategy s, long size, long elapsedNanos) {
+        int c = sizeClass(size);
+        int i = all.indexOf(s);
+        files[c][i].increment();
+        bytes[c][i].add(size);
+        nanos[c][i].add(elapsedNanos);
+    }
+
+    public List<CopyStrategyStat> snapshot() {
+        List<CopyStrategyStat> out = new ArrayList<>();
+        for (int c = 0; c < SIZE_CLASSES.length; c++) {
+            for (int i = 0; i < all.size(); i++) {
+                long n = files[c][i].sum();
+                if (n == 0) continue;
+                out.add(new CopyStrategyStat(all.get(i).name(), SIZE_CLASSES[c], n, bytes[c][i].sum(), mbps(c, i)));
+            }
+        }
+        return out;
+    }
+
+    // mapped jamais choisi automatiquement (source verrouillée jusqu'au GC, SIGBUS si tronquée).
+    // Petits fichiers : une lecture suffit, transferTo n'a rien à gagner ;
+    // gros fichiers : la boucle en espace utilisateur ne bat pas la copie noyau, sondes coûteuses évitées
+    private static List<CopyStrategy> candidates(int sizeClass) {
+        return switch (sizeClass) {
+            case 0 -> SMALL;
+            case 1 -> MEDIUM;
+            default -> LARGE;
+        };
+    }
+
+    private double mbps(int c, int i) {
+        long ns = nanos[c][i].sum();
+        if (ns <= 0) return 0.0;
+        return (bytes[c][i].sum() / (1024.0 * 1024.0)) / (ns / 1_000_000_000.0);
+    }
+
+    static int sizeClass(long size) {
+        for (int c = 0; c < CLASS_LIMITS.length; c++) {
+            if (size < CLASS_LIMITS[c]) return c;
+        }
+        return CLASS_LIMITS.length;
+    }
+
+    private LongAdder[][] newAdders() {
+        LongAdder[][] a = new LongAdder[SIZE_CLASSES.length][all.size()];
+        for (LongAdder[] row : a) {
+            for (int i = 0; i < row.length; i++) row[i] = new LongAdder();
+        }
+        return a;
+    }
+}
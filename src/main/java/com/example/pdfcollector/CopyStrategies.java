@@ -0,0 +1,126 @@
+package com.example.pdfcollector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Stratégies de copie disponibles :
+ * - files    : Files.copy (comportement historique)
+ * - transfer : FileChannel.transferTo (zero-copy noyau quand l'OS le permet)
+ * - buffered : boucle read/write avec ByteBuffer direct réutilisés (pool)
+ * - mapped   : source mappée en mémoire par fenêtres (gros fichiers), sur choix explicite
+ *              seulement : jamais proposé par "auto" ni utilisé en mode déplacement
+ *              (voir MAPPED)
+ */
+public final class CopyStrategies {
+
+    public static final String AUTO = "auto";
+
+    public static final CopyStrategy FILES = new CopyStrategy() {
+        @Override public String name() { return "files"; }
+
+        @Override
+        public void copy(Path src, Path dst, long size) throws IOException {
+            Files.copy(src, dst, StandardCopyOption.REPLACE_EXISTING);
+        }
+    };
+
+    public static final CopyStrategy TRANSFER = new CopyStrategy() {
+        @Override public String name() { return "transfer"; }
+
+        @Override
+        public void copy(Path src, Path dst, long size) throws IOException {
+            try (FileChannel in = FileChannel.open(src, StandardOpenOption.READ);
+                 FileChannel out = openDest(dst)) {
+                long len = in.size();
+                long pos = 0;
+                while (pos < len) {
+                    long n = in.transferTo(pos, len - pos, out);
+                    if (n <= 0) break;
+                    pos += n;
+                }
+                // source raccourcie ou transferTo bloqué : la copie est incomplète, pas un succès
+                if (pos < len) throw new IOException("Copie incomplète : " + pos + "/" + len + " octets (" + src + ")");
+            }
+        }
+    };
+
+    public static final CopyStrategy BUFFERED = new CopyStrategy() {
+        private static final int BUF_SIZE = 1024 * 1024; // 1MB
+        private final BlockingQueue<ByteBuffer> pool = new ArrayBlockingQueue<>(64);
+
+        @Override public String name() { return "buffered"; }
+
+        @Override
+        public void copy(Path src, Path dst, long size) throws IOException {
+            ByteBuffer buf = pool.poll();
+            if (buf == null) buf = ByteBuffer.allocateDirect(BUF_SIZE);
+            try (FileChannel in = FileChannel.open(src, StandardOpenOption.READ);
+                 FileChannel out = openDest(dst)) {
+                buf.clear();
+                while (in.read(buf) != -1) {
+                    buf.flip();
+                    while (buf.hasRemaining()) out.write(buf);
+                    buf.clear();
+                }
+            } finally {
+                buf.clear();
+                pool.offer(buf);
+            }
+        }
+    };
+
+    /*
+     * Limites du mapping :
+     * - le MappedByteBuffer n'est libéré qu'au GC : sous Windows la source reste
+     *   verrouillée jusque-là (Files.delete du mode déplacement échouerait)
+     * - une source tronquée pendant la copie peut lever InternalError (SIGBUS)
+     * D'où : hors "auto", et remplacé par buffered en mode déplacement (CollectorEngine).
+     */
+    public static final CopyStrategy MAPPED = new CopyStrategy() {
+        private static final long WINDOW = 256L * 1024 * 1024; // 256MB
+
+        @Override public String name() { return "mapped"; }
+
+        @Override
+        public void copy(Path src, Path dst, long size) throws IOException {
+            try (FileChannel in = FileChannel.open(src, StandardOpenOption.READ);
+                 FileChannel out = openDest(dst)) {
+                long len = in.size();
+                for (long pos = 0; pos < len; pos += WINDOW) {
+                    MappedByteBuffer mb = in.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(WINDOW, len - pos));
+                    while (mb.hasRemaining()) out.write(mb);
+                }
+            }
+        }
+    };
+
+    public static final List<CopyStrategy> ALL = List.of(FILES, TRANSFER, BUFFERED, MAPPED);
+
+    private CopyStrategies() { }
+
+    // null si "auto" (choix par classe de taille)
+    public static CopyStrategy byName(String name) {
+        if (name == null || name.isBlank()) return FILES;
+        String n = name.trim().toLowerCase(Locale.ROOT);
+        if (AUTO.equals(n)) return null;
+        for (CopyStrategy s : ALL) {
+            if (s.name().equals(n)) return s;
+        }
+        throw new IllegalArgumentException("Stratégie de copie inconnue : " + name);
+    }
+
+    static FileChannel openDest(Path dst) throws IOException {
+        return FileChannel.open(dst, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.pdfcollector;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Façon de copier les octets d'un fichier (la destination est écrasée si elle existe)
+public interface CopyStrategy {
+
+    String name();
+
+    void copy(Path src, Path dst, long size) throws IOException;
+}
@@ -0,0 +1,3 @@
+package com.example.pdfcollector;
+
+public record CopyStrategyStat(String strategy, String sizeClass, long files, long bytes, double mbps) { }
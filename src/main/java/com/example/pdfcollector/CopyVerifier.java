@@ -0,0 +1,175 @@
+package com.example.pdfcollector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Vérification après copie, en étape séparée : relecture de la destination et
+ * comparaison de son CRC32C avec celui de la source (calculé pendant la copie
+ * fusionnée, sinon relu depuis la source, en général encore en cache).
+ * Peu de threads et une file bornée : la vérification avance en parallèle des
+ * copies sans leur disputer le disque, et freine les workers si elle prend du retard.
+ * Écart détecté : une recopie (par le même chemin que les workers : .part, publication
+ * DurableWriter, permis I/O), revérifiée ; second échec ou destination illisible =>
+ * destination supprimée. Source illisible : copie gardée, comptée non vérifiée.
+ * Limite : la relecture peut être servie par le cache de l'OS plutôt que par la cible.
+ */
+public class CopyVerifier {
+
+    // recopie source -> destination publiée, fournie par le moteur
+    @FunctionalInterface
+    public interface Recopier {
+        void recopy(FileEntry e, Path dst) throws IOException;
+    }
+
+    private static final int BUF_SIZE = 1024 * 1024;
+    private static final int QUEUE_PER_THREAD = 4;
+
+    private final ExecutorService pool;
+    private final BlockingQueue<ByteBuffer> buffers = new ArrayBlockingQueue<>(16);
+    private final Semaphore slots;
+    private final int capacity;
+    private final Consumer<String> logger;
+    private final Recopier recopier;
+    private final BiConsumer<FileEntry, Path> onBroken;
+
+    final AtomicInteger verified = new AtomicInteger(0);
+    final AtomicInteger mismatches = new AtomicInteger(0);
+    final AtomicInteger repaired = new AtomicInteger(0);
+    final AtomicInteger unverified = new AtomicInteger(0); // source illisible à la relecture
+
+    // onBroken : copie restée fausse après recopie (la destination est déjà supprimée)
+    public CopyVerifier(int threads, Consumer<String> logger, Recopier recopier, BiConsumer<FileEntry, Path> onBroken) {
+        int n = Math.max(1, threads);
+        this.pool = Executors.newFixedThreadPool(n, r -> {
+            Thread t = new Thread(r, "copy-verify");
+            t.setDaemon(true);
+            return t;
+        });
+        this.capacity = n * QUEUE_PER_THREAD;
+        this.slots = new Semaphore(capacity);
+        this.logger = logger;
+        this.recopier = recopier;
+        this.onBroken = onBroken;
+    }
+
+    // sourceCrc : CRC32C déjà connu de la source, ou null pour le recalculer
+    public void submit(FileEntry e, Path dst, Long sourceCrc) throws InterruptedException {
+        slots.acquire();
+        try {
+            pool.execute(() -> {
+                try {
+                    verify(e, dst, sourceCrc);
+                } finally {
+                    slots.release();
+                }
+            });
+        } catch (RuntimeException ex) {
+            slots.release();
+            throw ex;
+        }
+    }
+
+    private void verify(FileEntry e, Path dst, Long sourceCrc) {
+        Long expected = sourceCrc != null ? sourceCrc : sourceCrc(e, dst);
+        if (expected == null) return;
+        Long actual = destCrc(e, dst);
+        if (actual == null) return;
+        if (actual.longValue() == expected) {
+            verified.incrementAndGet();
+            return;
+        }
+        mismatches.incrementAndGet();
+        logger.accept("[VERIFY] écart de contenu, recopie : " + dst.toAbsolutePath());
+
+        try {
+            recopier.recopy(e, dst);
+        } catch (IOException ex) {
+            // copie en place déjà fausse : supprimée
+            broken(e, dst, ex.getMessage());
+            return;
+        }
+        expected = sourceCrc(e, dst);
+        if (expected == null) return;
+        actual = destCrc(e, dst);
+        if (actual == null) return;
+        if (actual.longValue() == expected) {
+            repaired.incrementAndGet();
+            verified.incrementAndGet();
+            return;
+        }
+        broken(e, dst, null);
+    }
+
+    // source illisible (support amovible instable...) : rien ne dit que la copie est fausse, elle est gardée
+    private Long sourceCrc(FileEntry e, Path dst) {
+        try {
+            return crc(e.path());
+        } catch (IOException ex) {
+            unverified.incrementAndGet();
+            logger.accept("[VERIFY] source illisible, copie gardée non vérifiée : " + dst.toAbsolutePath()
+                    + " (" + ex.getMessage() + ")");
+            return null;
+        }
+    }
+
+    // destination illisible : copie inutilisable, supprimée
+    private Long destCrc(FileEntry e, Path dst) {
+        try {
+            return crc(dst);
+        } catch (IOException ex) {
+            broken(e, dst, ex.getMessage());
+            return null;
+        }
+    }
+
+    private void broken(FileEntry e, Path dst, String reason) {
+        if (reason != null) logger.accept("[VERIFY] " + dst.toAbsolutePath() + " : " + reason);
+        try { Files.deleteIfExists(dst); } catch (IOException ignored) { }
+        onBroken.accept(e, dst);
+    }
+
+    // attend la fin des vérifications en file
+    public void drain(BooleanSupplier isCancelled) throws InterruptedException {
+        while (!slots.tryAcquire(capacity, 100, TimeUnit.MILLISECONDS)) {
+            if (isCancelled.getAsBoolean()) return;
+        }
+        slots.release(capacity);
+    }
+
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    private long crc(Path p) throws IOException {
+        ByteBuffer buf = buffers.poll();
+        if (buf == null) buf = ByteBuffer.allocateDirect(BUF_SIZE);
+        CRC32C crc = new CRC32C();
+        try (FileChannel ch = FileChannel.open(p, StandardOpenOption.READ)) {
+            buf.clear();
+            while (ch.read(buf) != -1) {
+                crc.update(buf.flip());
+                buf.clear();
+            }
+        } finally {
+            buf.clear();
+            buffers.offer(buf);
+        }
+        return crc.getValue();
+    }
+}
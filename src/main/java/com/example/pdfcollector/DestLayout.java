@@ -0,0 +1,87 @@
+package com.example.pdfcollector;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Organisation des fichiers dans le dossier destination :
+ * - flat : tout à la racine (comportement historique)
+ * - hash : ab/cd/nom.pdf, préfixe tiré du nom (deux niveaux de 256 dossiers)
+ * - date : aaaa/mm/ selon la date de modification
+ * - ext  : pdf/, docx/... selon l'extension
+ * - tree : arborescence source conservée
+ * Chaque fichier a un seul dossier possible pour un nom donné : collisions et
+ * skipExisting restent gérés dossier par dossier par DestNameIndex.
+ */
+public class DestLayout {
+
+    public static final String FLAT = "flat";
+    public static final String HASH = "hash";
+    public static final String DATE = "date";
+    public static final String EXT = "ext";
+    public static final String TREE = "tree";
+
+    private final String layout;
+    private final Path source;
+    private final Path dest;
+    // dossiers déjà créés : un seul createDirectories par dossier
+    private final Set<Path> created = ConcurrentHashMap.newKeySet();
+
+    public DestLayout(String layout, Path source, Path dest) {
+        this.layout = layout == null ? FLAT : layout.toLowerCase(Locale.ROOT);
+        this.source = source;
+        this.dest = dest;
+        created.add(dest);
+    }
+
+    // chemin cible (dossier créé si besoin), avant gestion des collisions
+    public Path resolve(FileEntry e) throws IOException {
+        String name = e.path().getFileName().toString();
+        Path dir = dirFor(e, name);
+        // marqué seulement une fois créé : un autre worker ne peut pas écrire dans un dossier
+        // pas encore là (createDirectories est idempotent si deux threads le font en même temps)
+        if (!created.contains(dir)) {
+            Files.createDirectories(dir);
+            created.add(dir);
+        }
+        return dir.resolve(name);
+    }
+
+    private Path dirFor(FileEntry e, String name) {
+        return switch (layout) {
+            case HASH -> {
+                String h = hashPrefix(name);
+                yield dest.resolve(h.substring(0, 2)).resolve(h.substring(2, 4));
+            }
+            case DATE -> {
+                LocalDate d = Instant.ofEpochMilli(e.lastModified()).atZone(ZoneId.systemDefault()).toLocalDate();
+                yield dest.resolve(String.valueOf(d.getYear())).resolve(String.format("%02d", d.getMonthValue()));
+            }
+            case EXT -> {
+                String ext = FileScanner.extOf(e.path());
+                yield dest.resolve(ext.isEmpty() ? "_" : ext);
+            }
+            case TREE -> {
+                Path parent = e.path().getParent();
+                yield parent == null || !parent.startsWith(source) ? dest : dest.resolve(source.relativize(parent));
+            }
+            default -> dest;
+        };
+    }
+
+    // CRC32 du nom (insensible à la casse : même dossier pour "A.pdf" et "a.pdf" sous Windows)
+    static String hashPrefix(String name) {
+        CRC32 crc = new CRC32();
+        crc.update(name.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+        return String.format("%08x", crc.getValue());
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.pdfcollector;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Index en mémoire des noms présents dans les dossiers destination, chargé une fois
+ * par dossier (un seul listing) au lieu d'un Files.exists par fichier et par candidat.
+ * La réservation d'un nom est atomique entre workers (putIfAbsent) : deux threads
+ * ne peuvent plus choisir le même nom " (n)". Un compteur par nom de base évite
+ * de re-tester " (1)", " (2)"... à chaque collision.
+ * Le listing d'un dossier supprime aussi les fichiers temporaires orphelins d'un run
+ * interrompu (avec ou sans reprise) : seulement ceux du moteur (DurableWriter.isTemp) que
+ * le journal donne en cours. Il a lieu une seule fois, avant toute écriture du run dans ce dossier.
+ */
+public class DestNameIndex {
+
+    private static final long UNKNOWN = -1L;
+
+    // Windows (NTFS) et macOS (APFS/HFS+ par défaut) : noms insensibles à la casse
+    private static final boolean CASE_INSENSITIVE = File.separatorChar == '\\'
+            || System.getProperty("os.name", "").toLowerCase(Locale.ROOT).contains("mac");
+
+    private static final class DirNames {
+        // noms pris : présents avant le run ou réservés par ce run
+        final Set<String> taken = ConcurrentHashMap.newKeySet();
+        // présents avant le run seulement (UNKNOWN tant que pas stat) : seuls candidats au skip
+        final Map<String, Long> onDisk = new ConcurrentHashMap<>();
+        final Map<String, AtomicInteger> nextSuffix = new ConcurrentHashMap<>();
+        // tenu pendant le listing (I/O) : ReentrantLock, un synchronized épinglerait le thread virtuel
+        final ReentrantLock loadLock = new ReentrantLock();
+        volatile boolean loaded;
+    }
+
+    private final Map<Path, DirNames> dirs = new ConcurrentHashMap<>();
+    private final AtomicInteger staleParts = new AtomicInteger(0);
+    // temporaires laissés par le run précédent (copies BEGIN sans DONE), chemins absolus normalisés
+    private final Set<Path> staleTemps;
+
+    public DestNameIndex() {
+        this(Set.of());
+    }
+
+    public DestNameIndex(Set<Path> staleTemps) {
+        this.staleTemps = staleTemps;
+    }
+
+    // taille du fichier présent sous ce nom avant le run, ou -1 s'il n'y en avait pas.
+    // Les réservations de ce run n'en font pas partie : le skip ne dépend pas de l'ordre des workers
+    public long existingSize(Path destFile) throws IOException {
+        DirNames d = dir(destFile.getParent());
+        String key = key(destFile.getFileName().toString());
+        Long size = d.onDisk.get(key);
+        if (size == null) return -1L;
+        if (size == UNKNOWN) {
+            // un seul stat, à la première collision
+            long real;
+            try { real = Files.size(destFile); } catch (IOException e) { real = 0L; }
+            d.onDisk.replace(key, UNKNOWN, real);
+            return real;
+        }
+        return size;
+    }
+
+    // réserve le nom demandé s'il est libre, sinon le premier "base (n).ext" libre
+    public Path reserve(Path destFile) throws IOException {
+        Path dir = destFile.getParent();
+        DirNames d = dir(dir);
+        String name = destFile.getFileName().toString();
+        if (d.taken.add(key(name))) return destFile;
+
+        int dot = name.lastIndexOf('.');
+        String base = (dot >= 0) ? name.substring(0, dot) : name;
+        String ext = (dot >= 0) ? name.substring(dot) : "";
+
+        AtomicInteger counter = d.nextSuffix.computeIfAbsent(key(name), k -> new AtomicInteger(1));
+        while (true) {
+            String candidate = base + " (" + counter.getAndIncrement() + ")" + ext;
+            if (d.taken.add(key(candidate))) return dir.resolve(candidate);
+        }
+    }
+
+    // réserve ce nom exact s'il est libre (reprise : avant le démarrage des workers), sans suffixe
+    public boolean claimIfFree(Path destFile) throws IOException {
+        return dir(destFile.getParent()).taken.add(key(destFile.getFileName().toString()));
+    }
+
+    // nom réservé mais jamais publié (échec, rejet, copie supprimée) : rendu aux fichiers suivants
+    public void release(Path destFile) {
+        DirNames d = dirs.get(destFile.getParent());
+        if (d != null) d.taken.remove(key(destFile.getFileName().toString()));
+    }
+
+    // temporaires orphelins supprimés par les listings de ce run
+    public int stalePartsRemoved() {
+        return staleParts.get();
+    }
+
+    private DirNames dir(Path dir) throws IOException {
+        // listing hors computeIfAbsent : aucun verrou de bin tenu pendant l'I/O
+        DirNames d = dirs.computeIfAbsent(dir, k -> new DirNames());
+        if (d.loaded) return d;
+
+        // un seul listing par dossier : les autres workers attendent qu'il soit complet
+        d.loadLock.lock();
+        try {
+            if (!d.loaded) {
+                load(dir, d);
+                d.loaded = true;
+            }
+        } finally {
+            d.loadLock.unlock();
+        }
+        return d;
+    }
+
+    // aucun nom n'a encore été rendu pour ce dossier : un temporaire présent vient d'un run précédent
+    private void load(Path dir, DirNames d) throws IOException {
+        if (!Files.isDirectory(dir)) return;
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir)) {
+            for (Path p : ds) {
+                String name = p.getFileName().toString();
+                if (DurableWriter.isTemp(name) && staleTemps.contains(p.toAbsolutePath().normalize())
+                        && Files.isRegularFile(p)) {
+                    try {
+                        Files.deleteIfExists(p);
+                        staleParts.incrementAndGet();
+                        continue;
+                    } catch (IOException ignored) {
+                        // laissé en place : son nom reste pris
+                    }
+                }
+                d.taken.add(key(name));
+                d.onDisk.put(key(name), UNKNOWN);
+            }
+        }
+    }
+
+    private static String key(String name) {
+        return CASE_INSENSITIVE ? name.toLowerCase(Locale.ROOT) : name;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.pdfcollector;
+
+import java.io.IOException;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Regroupe le travail par périphérique (FileStore source -> FileStore destination) :
+ * chaque périphérique a son propre limiteur I/O et ses compteurs de débit.
+ * La destination, partagée par tous, a aussi son budget (un limiteur par FileStore
+ * destination) : gate() prend les deux, la concurrence réelle côté destination reste
+ * bornée quel que soit le nombre de sources.
+ * Le FileStore est résolu une fois par dossier parent (cache), pas par fichier.
+ */
+public class DeviceRegistry {
+
+    public static final class Device {
+        final String key;
+        final IoLimiter limiter;
+        final IoLimiter gate;
+        final LongAdder files = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+        final AtomicLong firstStart = new AtomicLong(Long.MAX_VALUE);
+        final AtomicLong lastEnd = new AtomicLong(Long.MIN_VALUE);
+
+        Device(String key, IoLimiter limiter, IoLimiter destLimiter) {
+            this.key = key;
+            this.limiter = limiter;
+            this.gate = new PairedIoLimiter(limiter, destLimiter);
+        }
+
+        public String key() { return key; }
+
+        public IoLimiter limiter() { return limiter; }
+
+        // permis à prendre pour une copie : source puis destination
+        public IoLimiter gate() { return gate; }
+
+        // débit agrégé du périphérique = octets / (fin dernière copie - début première copie)
+        public void record(long size, long startNanos, long endNanos) {
+            files.increment();
+            bytes.add(size);
+            firstStart.accumulateAndGet(startNanos, Math::min);
+            lastEnd.accumulateAndGet(endNanos, Math::max);
+        }
+    }
+
+    private final String destStore;
+    private final Supplier<IoLimiter> limiterFactory;
+    private final Map<Path, String> storeByDir = new ConcurrentHashMap<>();
+    private final Map<String, Device> devices = new ConcurrentHashMap<>();
+    private final Map<String, IoLimiter> destLimiters = new ConcurrentHashMap<>();
+
+    public DeviceRegistry(Path destDir, Supplier<IoLimiter> limiterFactory) {
+        this.destStore = storeName(destDir);
+        this.limiterFactory = limiterFactory;
+    }
+
+    public Device deviceFor(Path file) {
+        Path dir = file.getParent();
+        String src = dir == null ? storeName(file) : storeByDir.get(dir);
+        if (src == null) {
+            // I/O hors computeIfAbsent : pas de verrou de bin tenu pendant le stat (threads virtuels)
+            src = storeName(dir);
+            String prev = storeByDir.putIfAbsent(dir, src);
+            if (prev != null) src = prev;
+        }
+        String key = src + " -> " + destStore;
+        return devices.computeIfAbsent(key, k -> new Device(k, limiterFactory.get(), destLimiter()));
+    }
+
+    public IoLimiter destLimiter() {
+        return destLimiters.computeIfAbsent(destStore, k -> limiterFactory.get());
+    }
+
+    public List<DeviceStat> snapshot() {
+        List<DeviceStat> out = new ArrayList<>();
+        for (Device d : devices.values()) {
+            long n = d.files.sum();
+            long ns = n == 0 ? 0 : d.lastEnd.get() - d.firstStart.get();
+            long b = d.bytes.sum();
+            double mbps = ns <= 0 ? 0.0 : (b / (1024.0 * 1024.0)) / (ns / 1_000_000_000.0);
+            out.add(new DeviceStat(d.key, n, b, mbps, d.limiter.currentLimit()));
+        }
+        out.sort((a, b) -> a.device().compareTo(b.device()));
+        return out;
+    }
+
+    private static String storeName(Path p) {
+        try {
+            FileStore fs = Files.getFileStore(p);
+            return fs.toString();
+        } catch (IOException | SecurityException ex) {
+            return "?";
+        }
+    }
+}
@@ -0,0 +1,3 @@
+package com.example.pdfcollector;
+
+public record DeviceStat(String device, long files, long bytes, double mbps, int ioLimit) { }
@@ -0,0 +1,4 @@
+package com.example.pdfcollector;
+
+// Même lot de petits fichiers copié avec chaque niveau de durabilité (DurableWriter)
+public record DurabilityBenchmark(String durability, int files, long elapsedMillis, double filesPerSecond) { }
@@ -0,0 +1,200 @@
+package com.example.pdfcollector;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Écriture "fichier temporaire puis renommage" : une copie n'apparaît sous son nom
+ * final qu'une fois complète (un crash laisse au pire un ".pdfcollector-<nom>.part",
+ * jamais un fichier tronqué).
+ * Durabilité :
+ * - none  : renommage seul, le cache de l'OS décide quand écrire
+ * - file  : fsync du fichier, renommage, fsync du dossier, pour chaque fichier
+ * - group : renommages différés et regroupés (GROUP_FILES fichiers ou GROUP_MILLIS ms),
+ *           fsync de tout le lot puis renommage puis un fsync par dossier touché
+ */
+public class DurableWriter implements Closeable {
+
+    public static final String NONE = "none";
+    public static final String FILE = "file";
+    public static final String GROUP = "group";
+
+    static final int GROUP_FILES = 64;
+    static final long GROUP_MILLIS = 200;
+
+    // préfixe + suffixe : un ".part" de l'utilisateur (téléchargement, archive découpée) n'est jamais pris pour le nôtre
+    private static final String TEMP_PREFIX = ".pdfcollector-";
+    private static final String TEMP_SUFFIX = ".part";
+
+    // fsync d'un dossier : possible sous Linux/macOS, refusé sous Windows
+    private static final boolean DIR_SYNC = !System.getProperty("os.name", "").toLowerCase(Locale.ROOT).contains("win");
+
+    private record Pending(Path part, Path dst, Runnable onCommitted, Consumer<IOException> onFailed) { }
+
+    private final String mode;
+    private final ReentrantLock lock = new ReentrantLock();
+    // un seul lot écrit à la fois (ordre des renommages conservé)
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private List<Pending> pending = new ArrayList<>();
+    private final ScheduledExecutorService flusher;
+
+    final LongAdder fsyncs = new LongAdder();
+    final LongAdder groups = new LongAdder();
+
+    public DurableWriter(String mode) {
+        this.mode = mode == null ? NONE : mode.toLowerCase(Locale.ROOT);
+        if (GROUP.equals(this.mode)) {
+            flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "durable-flush");
+                t.setDaemon(true);
+                return t;
+            });
+            flusher.scheduleWithFixedDelay(this::flushQuietly, GROUP_MILLIS, GROUP_MILLIS, TimeUnit.MILLISECONDS);
+        } else {
+            flusher = null;
+        }
+    }
+
+    public static Path tempFor(Path dst) {
+        return dst.resolveSibling(TEMP_PREFIX + dst.getFileName().toString() + TEMP_SUFFIX);
+    }
+
+    static boolean isTemp(String fileName) {
+        return fileName.length() > TEMP_PREFIX.length() + TEMP_SUFFIX.length()
+                && fileName.startsWith(TEMP_PREFIX) && fileName.endsWith(TEMP_SUFFIX);
+    }
+
+    /**
+     * Publie part sous le nom dst selon le mode.
+     * true : fait immédiatement (les callbacks ne sont pas appelés) ;
+     * false : mis en lot, onCommitted / onFailed appelés plus tard depuis le flush.
+     */
+    public boolean commit(Path part, Path dst, Runnable onCommitted, Consumer<IOException> onFailed) throws IOException {
+        if (!GROUP.equals(mode)) {
+            commitNow(part, dst);
+            return true;
+        }
+        boolean full;
+        lock.lock();
+        try {
+            pending.add(new Pending(part, dst, onCommitted, onFailed));
+            full = pending.size() >= GROUP_FILES;
+        } finally {
+            lock.unlock();
+        }
+        if (full) flush();
+        return false;
+    }
+
+    // publication immédiate (ex: move, la source n'est supprimée qu'après) ; group => comme file
+    public void commitNow(Path part, Path dst) throws IOException {
+        if (!NONE.equals(mode)) force(part);
+        moveIntoPlace(part, dst);
+        if (!NONE.equals(mode)) forceDir(dst.getParent());
+    }
+
+    public void flush() throws IOException {
+        List<Pending> batch;
+        lock.lock();
+        try {
+            if (pending.isEmpty()) return;
+            batch = pending;
+            pending = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+
+        flushLock.lock();
+        try {
+            groups.increment();
+            // fsync du lot en parallèle (le disque traite plusieurs flush à la fois), renommages ensuite
+            List<Pending> ok = batch.parallelStream().filter(p -> {
+                try {
+                    force(p.part());
+                    return true;
+                } catch (IOException ex) {
+                    fail(p, ex);
+                    return false;
+                }
+            }).toList();
+            Set<Path> dirs = new LinkedHashSet<>();
+            List<Pending> moved = new ArrayList<>(ok.size());
+            for (Pending p : ok) {
+                try {
+                    moveIntoPlace(p.part(), p.dst());
+                    dirs.add(p.dst().getParent());
+                    moved.add(p);
+                } catch (IOException ex) {
+                    fail(p, ex);
+                }
+            }
+            for (Path d : dirs) forceDir(d);
+            for (Pending p : moved) p.onCommitted().run();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private static void fail(Pending p, IOException ex) {
+        try { Files.deleteIfExists(p.part()); } catch (IOException ignored) { }
+        p.onFailed().accept(ex);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException ignored) {
+            // chaque fichier a déjà reçu son onFailed
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (flusher != null) {
+            // pas de shutdownNow : un fsync interrompu fermerait le canal
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    private void force(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.force(true);
+        }
+        fsyncs.increment();
+    }
+
+    // l'entrée de répertoire (le renommage) doit elle aussi survivre à une coupure
+    private void forceDir(Path dir) {
+        if (!DIR_SYNC || dir == null) return;
+        try (FileChannel ch = FileChannel.open(dir, StandardOpenOption.READ)) {
+            ch.force(true);
+            fsyncs.increment();
+        } catch (IOException ignored) {
+            // FS sans fsync de dossier : le renommage reste atomique, seule sa durabilité est moindre
+        }
+    }
+
+    // renommage atomique (écrase la cible) ; repli non atomique si le FS ne sait pas faire
+    static void moveIntoPlace(Path tmp, Path dst) throws IOException {
+        try {
+            Files.move(tmp, dst, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(tmp, dst, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
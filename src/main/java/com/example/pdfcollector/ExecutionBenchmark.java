@@ -0,0 +1,3 @@
+package com.example.pdfcollector;
+
+public record ExecutionBenchmark(long localFixedMs, long localVirtualMs, long latencyFixedMs, long latencyVirtualMs) { }
@@ -0,0 +1,211 @@
+package com.example.pdfcollector;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tri par date sur disque pour les arborescences qui ne tiennent pas en mémoire :
+ * - add() remplit une FileTable ; pleine (runEntries), elle est triée et écrite
+ *   dans un fichier de run, puis une nouvelle table prend le relais
+ * - merge() fusionne les runs (k voies, un tampon de lecture par run) et la
+ *   dernière table restée en mémoire, dans l'ordre (date, dossier, nom)
+ * Mémoire bornée par runEntries (une table par walker qui déverse en même temps)
+ * plus un tampon par run, quelle que soit la taille de l'arborescence.
+ */
+public final class ExternalSorter implements Closeable {
+
+    // ~50 octets par entrée en FileTable : ~25 Mo par run
+    public static final int DEFAULT_RUN_ENTRIES = 500_000;
+
+    private static final int IO_BUF = 64 * 1024;
+
+    // ordre des runs (FileTable.sortByDate) : la fusion doit départager les noms exactement pareil
+    static final Comparator<FileEntry> ORDER = Comparator.comparingLong(FileEntry::lastModified)
+            .thenComparing((FileEntry e) -> e.path().getParent(), Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(e -> e.path().getFileName().toString(), FileTable::compareNames);
+
+    private final Path dir;
+    private final int runEntries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<Path> runs = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger runSeq = new AtomicInteger(0);
+    private FileTable current = new FileTable();
+    private int count;
+
+    // dossier de travail créé sous parent, supprimé par close()
+    public ExternalSorter(Path parent, int runEntries) throws IOException {
+        this.dir = Files.createTempDirectory(parent, ".pdfcollector-sort");
+        this.runEntries = Math.max(1, runEntries);
+    }
+
+    // thread-safe (sink du walk parallèle) ; le déversement se fait hors verrou
+    public void add(FileEntry e) {
+        FileTable full = null;
+        lock.lock();
+        try {
+            current.add(e);
+            count++;
+            if (current.size() >= runEntries) {
+                full = current;
+                current = new FileTable();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full != null) {
+            try {
+                spill(full);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int runCount() {
+        return runs.size();
+    }
+
+    private void spill(FileTable table) throws IOException {
+        table.sortByDate();
+        Path run = dir.resolve("run" + runSeq.incrementAndGet() + ".bin");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), IO_BUF))) {
+            out.writeInt(table.size());
+            for (FileEntry e : table) {
+                out.writeLong(e.lastModified());
+                out.writeLong(e.size());
+                byte[] p = e.path().toString().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(p.length);
+                out.write(p);
+            }
+        }
+        runs.add(run);
+    }
+
+    /**
+     * Fusion k voies : à appeler une fois le walk terminé (plus d'add).
+     * Aucun run déversé => simple parcours de la table en mémoire triée.
+     */
+    public Merge merge() throws IOException {
+        FileTable last = current;
+        last.sortByDate();
+        List<Cursor> cursors = new ArrayList<>(runs.size() + 1);
+        try {
+            for (Path run : runs) cursors.add(new RunCursor(run));
+        } catch (IOException ex) {
+            for (Cursor c : cursors) c.close();
+            throw ex;
+        }
+        cursors.add(new TableCursor(last));
+        return new Merge(cursors);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Path run : runs) Files.deleteIfExists(run);
+        Files.deleteIfExists(dir);
+    }
+
+    // ------------------ Fusion ------------------
+
+    public static final class Merge implements Iterator<FileEntry>, Closeable {
+        private final PriorityQueue<Cursor> heap = new PriorityQueue<>((a, b) -> ORDER.compare(a.head, b.head));
+        private final List<Cursor> all;
+
+        private Merge(List<Cursor> cursors) throws IOException {
+            this.all = cursors;
+            try {
+                for (Cursor c : cursors) {
+                    if (c.advance()) heap.add(c);
+                }
+            } catch (IOException ex) {
+                close();
+                throw ex;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heap.isEmpty();
+        }
+
+        @Override
+        public FileEntry next() {
+            Cursor c = heap.poll();
+            if (c == null) throw new NoSuchElementException();
+            FileEntry e = c.head;
+            try {
+                if (c.advance()) heap.add(c);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return e;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (Cursor c : all) c.close();
+        }
+    }
+
+    private abstract static class Cursor implements Closeable {
+        FileEntry head;
+
+        // false : source épuisée
+        abstract boolean advance() throws IOException;
+
+        @Override
+        public void close() throws IOException { }
+    }
+
+    private static final class TableCursor extends Cursor {
+        private final FileTable table;
+        private int next;
+
+        TableCursor(FileTable table) {
+            this.table = table;
+        }
+
+        @Override
+        boolean advance() {
+            if (next >= table.size()) return false;
+            head = table.get(next++);
+            return true;
+        }
+    }
+
+    private static final class RunCursor extends Cursor {
+        private final DataInputStream in;
+        private int remaining;
+
+        RunCursor(Path run) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), IO_BUF));
+            this.remaining = in.readInt();
+        }
+
+        @Override
+        boolean advance() throws IOException {
+            if (remaining == 0) return false;
+            remaining--;
+            long mtime = in.readLong();
+            long size = in.readLong();
+            byte[] p = new byte[in.readInt()];
+            in.readFully(p);
+            head = new FileEntry(Path.of(new String(p, StandardCharsets.UTF_8)), size, mtime);
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
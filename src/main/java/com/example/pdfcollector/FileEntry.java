@@ -0,0 +1,6 @@
+package com.example.pdfcollector;
+
+import java.nio.file.Path;
+
+// Fichier vu par le scan : taille et date capturées une seule fois (pas de re-stat)
+public record FileEntry(Path path, long size, long lastModified) { }
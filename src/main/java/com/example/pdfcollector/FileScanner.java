@@ -0,0 +1,274 @@
+package com.example.pdfcollector;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Parcours de l'arborescence source en un seul passage : type, taille et date
+ * viennent des BasicFileAttributes lus par le walk (aucun stat supplémentaire).
+ * Avec parallelism > 1, une tâche fork-join par dossier (work-stealing) :
+ * le sink est alors appelé depuis plusieurs threads et l'ordre n'est pas garanti.
+ */
+public class FileScanner {
+
+    private final Path source;
+    private final Path dest;
+    private final Set<String> allowed;
+    private final int parallelism;
+
+    // scan incrémental : index du run précédent (peut être null) et index en construction
+    private final ScanIndex previous;
+    private final ScanIndex next;
+
+    public FileScanner(Path source, Path dest, Set<String> allowed, int parallelism) {
+        this(source, dest, allowed, parallelism, null, null);
+    }
+
+    public FileScanner(Path source, Path dest, Set<String> allowed, int parallelism,
+                       ScanIndex previous, ScanIndex next) {
+        this.source = source;
+        this.dest = dest;
+        this.allowed = allowed;
+        this.parallelism = Math.max(1, parallelism);
+        this.previous = previous;
+        this.next = next;
+    }
+
+    public void walk(BooleanSupplier isCancelled, Consumer<FileEntry> sink) throws IOException {
+        if (next != null) {
+            walkIncremental(isCancelled, sink);
+        } else if (parallelism > 1) {
+            walkParallel(isCancelled, sink);
+        } else {
+            walkSequential(isCancelled, sink);
+        }
+    }
+
+    private void walkSequential(BooleanSupplier isCancelled, Consumer<FileEntry> sink) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                if (isCancelled.getAsBoolean()) return FileVisitResult.TERMINATE;
+                // le dossier destination n'est jamais rescanné
+                if (dir.startsWith(dest)) return FileVisitResult.SKIP_SUBTREE;
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (isCancelled.getAsBoolean()) return FileVisitResult.TERMINATE;
+
+                FileEntry e = toEntry(file, attrs);
+                if (e != null) sink.accept(e);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                // dossier illisible / fichier disparu : on continue le scan
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void walkParallel(BooleanSupplier isCancelled, Consumer<FileEntry> sink) {
+        if (source.startsWith(dest)) return;
+
+        ForkJoinPool fj = new ForkJoinPool(parallelism);
+        try {
+            fj.invoke(new DirTask(source, isCancelled, sink));
+        } finally {
+            fj.shutdownNow();
+        }
+    }
+
+    // Une tâche par dossier : liste les entrées, émet les fichiers, forke les sous-dossiers
+    @SuppressWarnings("serial") // tâche fork-join, jamais sérialisée
+    private final class DirTask extends RecursiveAction {
+        private final Path dir;
+        private final BooleanSupplier isCancelled;
+        private final Consumer<FileEntry> sink;
+
+        DirTask(Path dir, BooleanSupplier isCancelled, Consumer<FileEntry> sink) {
+            this.dir = dir;
+            this.isCancelled = isCancelled;
+            this.sink = sink;
+        }
+
+        @Override
+        protected void compute() {
+            if (isCancelled.getAsBoolean()) return;
+
+            List<DirTask> subDirs = new ArrayList<>();
+            try (DirectoryStream<Path> ds = list(dir)) {
+                for (Path child : ds) {
+                    if (isCancelled.getAsBoolean()) return;
+
+                    BasicFileAttributes attrs;
+                    try {
+                        attrs = Files.readAttributes(child, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    } catch (IOException ex) {
+                        continue;
+                    }
+
+                    if (attrs.isDirectory()) {
+                        if (!child.startsWith(dest)) subDirs.add(new DirTask(child, isCancelled, sink));
+                    } else {
+                        FileEntry e = toEntry(child, attrs);
+                        if (e != null) sink.accept(e);
+                    }
+                }
+            } catch (IOException | DirectoryIteratorException ex) {
+                // dossier illisible : on continue le scan
+            }
+
+            invokeAll(subDirs);
+        }
+    }
+
+    // ------------------ Walk incrémental ------------------
+    private void walkIncremental(BooleanSupplier isCancelled, Consumer<FileEntry> sink) throws IOException {
+        if (source.startsWith(dest)) return;
+        long rootMtime = Files.getLastModifiedTime(source).toMillis();
+
+        ForkJoinPool fj = new ForkJoinPool(parallelism);
+        try {
+            fj.invoke(new IndexedDirTask(source, rootMtime, isCancelled, sink));
+        } finally {
+            fj.shutdownNow();
+        }
+    }
+
+    // Dossier inchangé (même mtime) : entrées reprises de l'index, seuls les sous-dossiers sont stat.
+    // Dossier modifié : relu, et seuls les fichiers nouveaux/modifiés (ou en échec) sont émis.
+    @SuppressWarnings("serial")
+    private final class IndexedDirTask extends RecursiveAction {
+        private final Path dir;
+        private final long mtime;
+        private final BooleanSupplier isCancelled;
+        private final Consumer<FileEntry> sink;
+
+        IndexedDirTask(Path dir, long mtime, BooleanSupplier isCancelled, Consumer<FileEntry> sink) {
+            this.dir = dir;
+            this.mtime = mtime;
+            this.isCancelled = isCancelled;
+            this.sink = sink;
+        }
+
+        @Override
+        protected void compute() {
+            if (isCancelled.getAsBoolean()) return;
+
+            ScanIndex.DirRec old = previous == null ? null : previous.dir(dir);
+            List<IndexedDirTask> subTasks = new ArrayList<>();
+            List<String> subdirs = new ArrayList<>();
+            Map<String, ScanIndex.FileRec> files = new HashMap<>();
+            List<FileEntry> emit = new ArrayList<>();
+            boolean listed = true;
+
+            if (old != null && old.mtime == mtime) {
+                for (var f : old.files.entrySet()) {
+                    ScanIndex.FileRec rec = f.getValue();
+                    files.put(f.getKey(), new ScanIndex.FileRec(rec.size, rec.mtime, rec.outcome));
+                    if (!rec.settled()) emit.add(new FileEntry(dir.resolve(f.getKey()), rec.size, rec.mtime));
+                }
+                for (String name : old.subdirs) {
+                    Path sub = dir.resolve(name);
+                    try {
+                        long subMtime = Files.getLastModifiedTime(sub, LinkOption.NOFOLLOW_LINKS).toMillis();
+                        subdirs.add(name);
+                        subTasks.add(new IndexedDirTask(sub, subMtime, isCancelled, sink));
+                    } catch (IOException ex) {
+                        // sous-dossier disparu : oublié
+                    }
+                }
+            } else {
+                try (DirectoryStream<Path> ds = list(dir)) {
+                    for (Path child : ds) {
+                        if (isCancelled.getAsBoolean()) return;
+
+                        BasicFileAttributes attrs;
+                        try {
+                            attrs = Files.readAttributes(child, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                        } catch (IOException ex) {
+                            continue;
+                        }
+
+                        String name = child.getFileName().toString();
+                        if (attrs.isDirectory()) {
+                            if (!child.startsWith(dest)) {
+                                subdirs.add(name);
+                                subTasks.add(new IndexedDirTask(child, attrs.lastModifiedTime().toMillis(), isCancelled, sink));
+                            }
+                            continue;
+                        }
+
+                        FileEntry e = toEntry(child, attrs);
+                        if (e == null) continue;
+
+                        ScanIndex.FileRec prev = old == null ? null : old.files.get(name);
+                        if (prev != null && prev.size == e.size() && prev.mtime == e.lastModified() && prev.settled()) {
+                            files.put(name, new ScanIndex.FileRec(prev.size, prev.mtime, prev.outcome));
+                        } else {
+                            files.put(name, new ScanIndex.FileRec(e.size(), e.lastModified(), ScanIndex.PENDING));
+                            emit.add(e);
+                        }
+                    }
+                } catch (IOException | DirectoryIteratorException ex) {
+                    // dossier illisible : on continue le scan, liste incomplète
+                    listed = false;
+                }
+            }
+
+            // dossier enregistré avant d'émettre : les outcomes des workers trouvent leur entrée.
+            // Listing en échec : mtime sentinelle, sinon le dossier passerait pour inchangé au run suivant
+            next.putDir(dir, new ScanIndex.DirRec(listed ? mtime : ScanIndex.UNREAD, subdirs,
+                    new ConcurrentHashMap<>(files)));
+            for (FileEntry e : emit) {
+                if (isCancelled.getAsBoolean()) return;
+                sink.accept(e);
+            }
+            invokeAll(subTasks);
+        }
+    }
+
+    // listing d'un dossier des walks parallèle et incrémental (point d'injection d'échec pour les tests)
+    DirectoryStream<Path> list(Path dir) throws IOException {
+        return Files.newDirectoryStream(dir);
+    }
+
+    FileEntry toEntry(Path file, BasicFileAttributes attrs) {
+        if (!allowed.contains(extOf(file))) return null;
+        if (file.startsWith(dest)) return null;
+
+        BasicFileAttributes a = attrs;
+        if (a.isSymbolicLink()) {
+            // comme Files.isRegularFile : on suit le lien (stat uniquement pour les liens)
+            try { a = Files.readAttributes(file, BasicFileAttributes.class); }
+            catch (IOException ex) { return null; }
+        }
+        if (!a.isRegularFile()) return null;
+
+        return new FileEntry(file, a.size(), a.lastModifiedTime().toMillis());
+    }
+
+    static String extOf(Path p) {
+        Path fn = p.getFileName();
+        if (fn == null) return "";
+        String name = fn.toString().toLowerCase(Locale.ROOT);
+        int dot = name.lastIndexOf('.');
+        return (dot >= 0 && dot < name.length() - 1) ? name.substring(dot + 1) : "";
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.pdfcollector;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Liste de fichiers compacte pour les très gros scans : stockage en colonnes plutôt
+ * qu'un FileEntry + Path par fichier.
+ * - dossiers internés (un Path par dossier distinct), référencés par un int
+ * - noms concaténés (UTF-8) dans un byte[] unique, repérés par leur offset de début
+ * - tailles et dates dans des long[] parallèles
+ * Les FileEntry sont recréés à la demande (get) : seuls ceux en cours de traitement
+ * vivent sur le heap. Les tris permutent un int[] d'indices sur ces clés
+ * précalculées, sans aucun I/O ni objet par comparaison.
+ * add() est thread-safe (sink du walk parallèle) ; lecture et tri après le scan.
+ */
+public final class FileTable extends AbstractList<FileEntry> implements RandomAccess {
+
+    private static final int INITIAL = 1024;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final List<Path> dirs = new ArrayList<>();
+    private final Map<Path, Integer> dirIds = new HashMap<>();
+
+    private int count;
+    private int[] dirOf = new int[INITIAL];
+    private int[] nameStart = new int[INITIAL + 1];
+    private long[] sizes = new long[INITIAL];
+    private long[] mtimes = new long[INITIAL];
+    private byte[] names = new byte[INITIAL * 16];
+
+    // ordre de lecture (null = ordre d'ajout)
+    private int[] order;
+
+    public static FileTable copyOf(Collection<FileEntry> entries) {
+        FileTable t = new FileTable();
+        for (FileEntry e : entries) t.add(e);
+        return t;
+    }
+
+    @Override
+    public boolean add(FileEntry e) {
+        Path p = e.path();
+        Path dir = p.getParent();
+        byte[] name = p.getFileName().toString().getBytes(StandardCharsets.UTF_8);
+        lock.lock();
+        try {
+            if (count == sizes.length) grow();
+            int needed = nameStart[count] + name.length;
+            if (needed > names.length) names = Arrays.copyOf(names, Math.max(needed, names.length + (names.length >> 1)));
+
+            Integer id = dirIds.get(dir);
+            if (id == null) {
+                id = dirs.size();
+                dirs.add(dir);
+                dirIds.put(dir, id);
+            }
+            dirOf[count] = id;
+            System.arraycopy(name, 0, names, nameStart[count], name.length);
+            nameStart[count + 1] = needed;
+            sizes[count] = e.size();
+            mtimes[count] = e.lastModified();
+            count++;
+            order = null;
+            modCount++;
+        } finally {
+            lock.unlock();
+        }
+        return true;
+    }
+
+    private void grow() {
+        int n = Math.max(INITIAL, count + (count >> 1));
+        dirOf = Arrays.copyOf(dirOf, n);
+        nameStart = Arrays.copyOf(nameStart, n + 1);
+        sizes = Arrays.copyOf(sizes, n);
+        mtimes = Arrays.copyOf(mtimes, n);
+    }
+
+    // fin du scan : rend la marge de croissance des tableaux
+    public void trimToSize() {
+        lock.lock();
+        try {
+            dirOf = Arrays.copyOf(dirOf, count);
+            nameStart = Arrays.copyOf(nameStart, count + 1);
+            sizes = Arrays.copyOf(sizes, count);
+            mtimes = Arrays.copyOf(mtimes, count);
+            names = Arrays.copyOf(names, nameStart[count]);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public FileEntry get(int i) {
+        Objects.checkIndex(i, count);
+        int r = order == null ? i : order[i];
+        return new FileEntry(pathOf(r), sizes[r], mtimes[r]);
+    }
+
+    public int dirCount() {
+        return dirs.size();
+    }
+
+    private Path pathOf(int r) {
+        Path dir = dirs.get(dirOf[r]);
+        String name = new String(names, nameStart[r], nameStart[r + 1] - nameStart[r], StandardCharsets.UTF_8);
+        return dir == null ? Path.of(name) : dir.resolve(name);
+    }
+
+    // plus ancien d'abord ; départage par chemin (dossier puis nom) : ordre stable quel que soit le walk
+    public void sortByDate() {
+        int[] rank = dirRanks();
+        sortIndex((a, b) -> {
+            int c = Long.compare(mtimes[a], mtimes[b]);
+            return c != 0 ? c : comparePath(rank, a, b);
+        });
+    }
+
+    // plus gros d'abord, même départage
+    public void sortBySizeDesc() {
+        int[] rank = dirRanks();
+        sortIndex((a, b) -> {
+            int c = Long.compare(sizes[b], sizes[a]);
+            return c != 0 ? c : comparePath(rank, a, b);
+        });
+    }
+
+    // rang de chaque dossier dans l'ordre des chemins : un seul tri d'objets, sur les dossiers distincts
+    private int[] dirRanks() {
+        Integer[] byPath = new Integer[dirs.size()];
+        for (int i = 0; i < byPath.length; i++) byPath[i] = i;
+        Arrays.sort(byPath, Comparator.comparing(dirs::get, Comparator.nullsFirst(Comparator.naturalOrder())));
+        int[] rank = new int[byPath.length];
+        for (int i = 0; i < byPath.length; i++) rank[byPath[i]] = i;
+        return rank;
+    }
+
+    // noms comparés en octets non signés : ordre des points de code (UTF-8)
+    private int comparePath(int[] rank, int a, int b) {
+        int c = Integer.compare(rank[dirOf[a]], rank[dirOf[b]]);
+        if (c != 0) return c;
+        return Arrays.compareUnsigned(names, nameStart[a], nameStart[a + 1], names, nameStart[b], nameStart[b + 1]);
+    }
+
+    // même ordre que comparePath pour des noms en String (ExternalSorter) : ordre des points de
+    // code, identique à l'ordre des octets UTF-8 non signés, sans encoder
+    static int compareNames(String a, String b) {
+        int i = 0, j = 0;
+        while (i < a.length() && j < b.length()) {
+            int ca = a.codePointAt(i);
+            int cb = b.codePointAt(j);
+            if (ca != cb) return Integer.compare(ca, cb);
+            i += Character.charCount(ca);
+            j += Character.charCount(cb);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    // tri fusion stable sur int[] : pas de boxing, pas d'objet par comparaison
+    private void sortIndex(IntBinaryOperator cmp) {
+        int[] idx = new int[count];
+        for (int i = 0; i < count; i++) idx[i] = i;
+        int[] tmp = new int[count];
+        for (int width = 1; width < count; width <<= 1) {
+            for (int lo = 0; lo < count - width; lo += width << 1) {
+                int mid = lo + width;
+                int hi = Math.min(lo + (width << 1), count);
+                // déjà ordonnés : rien à fusionner
+                if (cmp.applyAsInt(idx[mid - 1], idx[mid]) <= 0) continue;
+                System.arraycopy(idx, lo, tmp, lo, hi - lo);
+                int i = lo, j = mid, k = lo;
+                while (i < mid && j < hi) idx[k++] = cmp.applyAsInt(tmp[j], tmp[i]) < 0 ? tmp[j++] : tmp[i++];
+                while (i < mid) idx[k++] = tmp[i++];
+                while (j < hi) idx[k++] = tmp[j++];
+            }
+        }
+        order = idx;
+        modCount++;
+    }
+}
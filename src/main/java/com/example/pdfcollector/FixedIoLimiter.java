@@ -0,0 +1,36 @@
+package com.example.pdfcollector;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+// Comportement historique : Semaphore à maxIo permis
+public class FixedIoLimiter implements IoLimiter {
+
+    private final Semaphore permits;
+    private final int limit;
+
+    public FixedIoLimiter(int limit) {
+        this.limit = Math.max(1, limit);
+        this.permits = new Semaphore(this.limit);
+    }
+
+    @Override
+    public void acquire() throws InterruptedException {
+        permits.acquire();
+    }
+
+    @Override
+    public void release(long bytes, long nanos) {
+        permits.release();
+    }
+
+    @Override
+    public int currentLimit() {
+        return limit;
+    }
+
+    @Override
+    public List<IoSample> curve() {
+        return List.of();
+    }
+}
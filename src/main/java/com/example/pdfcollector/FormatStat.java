@@ -0,0 +1,3 @@
+package com.example.pdfcollector;
+
+public record FormatStat(String format, long files, long rejected, double avgMicros) { }
@@ -0,0 +1,30 @@
+package com.example.pdfcollector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+// Contrôle rapide d'un format : quelques lectures positionnelles bornées, jamais le fichier entier
+public interface FormatValidator {
+
+    // nom du format dans les statistiques (ex: "zip", "ole2")
+    String name();
+
+    // octets d'en-tête lus par checkHead (moins si le fichier est plus court)
+    int headBytes();
+
+    // longueur + en-tête (little-endian) : null si valide, sinon la raison du rejet.
+    // Jugeable dès les premiers octets : la copie fusionnée s'arrête là sur un rejet
+    String checkHead(ByteBuffer head, long len);
+
+    // contrôles qui lisent la fin du fichier, appelés seulement si checkHead a accepté
+    default String checkTail(FileChannel ch, long len) throws IOException {
+        return null;
+    }
+
+    // null si valide, sinon la raison du rejet
+    default String check(FileChannel ch, long len) throws IOException {
+        String bad = checkHead(FormatValidators.read(ch, 0, headBytes()), len);
+        return bad != null ? bad : checkTail(ch, len);
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.pdfcollector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registre des validateurs par extension, chacun lisant un nombre d'octets borné :
+ * - pdf  : en-tête %PDF- (ou fin de fichier complète via PdfTailValidator en mode structure)
+ * - zip, xlsx, docx, pptx : enregistrement "end of central directory" (fin de fichier)
+ * - xls, doc, ppt : en-tête OLE2 (Compound File)
+ * - png  : signature + chunk IEND final
+ * - jpg, jpeg : SOI en tête + marqueur EOI en fin
+ * Extensions sans validateur (csv, txt...) : toujours acceptées.
+ * Le coût (fichiers, rejets, temps moyen) est compté par format.
+ */
+public class FormatValidators {
+
+    private static final class Cost {
+        final LongAdder files = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+    }
+
+    private final Map<String, FormatValidator> byExt = new HashMap<>();
+    private final Map<String, Cost> costs = new ConcurrentHashMap<>();
+
+    // structure : PDF vérifié jusqu'à la table xref (sinon simple en-tête)
+    public FormatValidators(boolean pdfStructure) {
+        register(pdfStructure ? PDF_STRUCTURE : PDF_MAGIC, "pdf");
+        register(ZIP, "zip", "xlsx", "docx", "pptx");
+        register(OLE2, "xls", "doc", "ppt");
+        register(PNG, "png");
+        register(JPEG, "jpg", "jpeg");
+    }
+
+    private void register(FormatValidator v, String... exts) {
+        for (String e : exts) byExt.put(e, v);
+    }
+
+    public FormatValidator forExtension(String ext) {
+        return byExt.get(ext);
+    }
+
+    // ouvre le fichier seulement si un validateur existe pour l'extension
+    public String check(Path p) {
+        FormatValidator v = byExt.get(FileScanner.extOf(p));
+        if (v == null) return null;
+        long t0 = System.nanoTime();
+        String bad;
+        try (FileChannel ch = FileChannel.open(p, StandardOpenOption.READ)) {
+            bad = v.check(ch, ch.size());
+        } catch (IOException ex) {
+            bad = "illisible : " + ex.getMessage();
+        }
+        record(v, bad, System.nanoTime() - t0);
+        return bad;
+    }
+
+    public void record(FormatValidator v, String verdict, long nanos) {
+        Cost c = costs.computeIfAbsent(v.name(), k -> new Cost());
+        c.files.increment();
+        if (verdict != null) c.rejected.increment();
+        c.nanos.add(nanos);
+    }
+
+    public List<FormatStat> snapshot() {
+        List<FormatStat> out = new ArrayList<>();
+        for (var e : costs.entrySet()) {
+            long n = e.getValue().files.sum();
+            out.add(new FormatStat(e.getKey(), n, e.getValue().rejected.sum(),
+                    n == 0 ? 0.0 : e.getValue().nanos.sum() / 1000.0 / n));
+        }
+        out.sort(Comparator.comparing(FormatStat::format));
+        return out;
+    }
+
+    // ------------------ Validateurs ------------------
+
+    static final FormatValidator PDF_MAGIC = new FormatValidator() {
+        @Override public String name() { return "pdf"; }
+
+        @Override public int headBytes() { return 4; }
+
+        @Override
+        public String checkHead(ByteBuffer head, long len) {
+            return startsWith(head, '%', 'P', 'D', 'F') ? null : "en-tête %PDF absent";
+        }
+    };
+
+    static final FormatValidator PDF_STRUCTURE = new FormatValidator() {
+        @Override public String name() { return "pdf"; }
+
+        @Override public int headBytes() { return PdfTailValidator.HEAD_BYTES; }
+
+        @Override
+        public String checkHead(ByteBuffer head, long len) {
+            return PdfTailValidator.checkHead(head, len);
+        }
+
+        @Override
+        public String checkTail(FileChannel ch, long len) throws IOException {
+            return PdfTailValidator.checkEnd(ch, len);
+        }
+    };
+
+    // EOCD : 22 octets + commentaire (<= 65535) en toute fin d'archive
+    static final FormatValidator ZIP = new FormatValidator() {
+        private static final int EOCD_MIN = 22;
+        private static final int EOCD_MAX = EOCD_MIN + 0xFFFF;
+
+        @Override public String name() { return "zip"; }
+
+        @Override public int headBytes() { return 4; }
+
+        @Override
+        public String checkHead(ByteBuffer head, long len) {
+            if (len < EOCD_MIN) return "archive trop courte";
+            return startsWith(head, 'P', 'K') ? null : "signature PK absente";
+        }
+
+        @Override
+        public String checkTail(FileChannel ch, long len) throws IOException {
+            // le commentaire est presque toujours vide : on tente d'abord les 22 derniers octets
+            ByteBuffer tail = read(ch, len - EOCD_MIN, EOCD_MIN);
+            long eocdPos = len - EOCD_MIN;
+            if (tail.getInt(0) != 0x06054b50) {
+                int n = (int) Math.min(EOCD_MAX, len);
+                tail = read(ch, len - n, n);
+                int i = n - EOCD_MIN;
+                while (i >= 0 && tail.getInt(i) != 0x06054b50) i--;
+                if (i < 0) return "fin d'archive (EOCD) absente : fichier tronqué ?";
+                eocdPos = len - n + i;
+                tail.position(i);
+                tail = tail.slice().order(ByteOrder.LITTLE_ENDIAN);
+            }
+            long cdSize = Integer.toUnsignedLong(tail.getInt(12));
+            long cdOffset = Integer.toUnsignedLong(tail.getInt(16));
+            // ZIP64 : valeurs à 0xFFFFFFFF, le vrai répertoire est ailleurs (accepté tel quel)
+            if (cdOffset == 0xFFFFFFFFL || cdSize == 0xFFFFFFFFL) return null;
+            if (cdOffset + cdSize > eocdPos) return "répertoire central hors archive";
+            return null;
+        }
+    };
+
+    static final FormatValidator OLE2 = new FormatValidator() {
+        private static final long SIGNATURE = 0xE11AB1A1E011CFD0L; // D0 CF 11 E0 A1 B1 1A E1 (little-endian)
+
+        @Override public String name() { return "ole2"; }
+
+        @Override public int headBytes() { return 32; }
+
+        @Override
+        public String checkHead(ByteBuffer h, long len) {
+            if (len < 512 || h.remaining() < 32) return "fichier trop court";
+            if (h.getLong(0) != SIGNATURE) return "en-tête OLE2 absent";
+            int sectorShift = Short.toUnsignedInt(h.getShort(30));
+            if (sectorShift != 9 && sectorShift != 12) return "taille de secteur OLE2 invalide";
+            return null;
+        }
+    };
+
+    static final FormatValidator PNG = new FormatValidator() {
+        private static final byte[] SIG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+        // longueur 0 + "IEND" + CRC
+        private static final byte[] IEND = {0, 0, 0, 0, 'I', 'E', 'N', 'D', (byte) 0xAE, 0x42, 0x60, (byte) 0x82};
+
+        @Override public String name() { return "png"; }
+
+        @Override public int headBytes() { return SIG.length; }
+
+        @Override
+        public String checkHead(ByteBuffer head, long len) {
+            if (len < SIG.length + IEND.length) return "fichier trop court";
+            return startsWith(head, SIG) ? null : "signature PNG absente";
+        }
+
+        @Override
+        public String checkTail(FileChannel ch, long len) throws IOException {
+            if (!startsWith(read(ch, len - IEND.length, IEND.length), IEND)) return "chunk IEND absent : fichier tronqué ?";
+            return null;
+        }
+    };
+
+    static final FormatValidator JPEG = new FormatValidator() {
+        // certains appareils ajoutent des octets de bourrage après EOI
+        private static final int EOI_WINDOW = 64;
+
+        @Override public String name() { return "jpeg"; }
+
+        @Override public int headBytes() { return 3; }
+
+        @Override
+        public String checkHead(ByteBuffer head, long len) {
+            if (len < 4) return "fichier trop court";
+            return startsWith(head, (byte) 0xFF, (byte) 0xD8, (byte) 0xFF) ? null : "marqueur SOI absent";
+        }
+
+        @Override
+        public String checkTail(FileChannel ch, long len) throws IOException {
+            int n = (int) Math.min(EOI_WINDOW, len - 2);
+            ByteBuffer t = read(ch, len - n, n);
+            for (int i = n - 2; i >= 0; i--) {
+                if (t.get(i) == (byte) 0xFF && t.get(i + 1) == (byte) 0xD9) return null;
+            }
+            return "marqueur EOI absent : fichier tronqué ?";
+        }
+    };
+
+    // ------------------ Helpers ------------------
+
+    // lecture positionnelle de n octets (moins si fin de fichier), little-endian
+    static ByteBuffer read(FileChannel ch, long pos, int n) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(n).order(ByteOrder.LITTLE_ENDIAN);
+        while (buf.hasRemaining()) {
+            int r = ch.read(buf, pos + buf.position());
+            if (r < 0) break;
+        }
+        buf.flip();
+        return buf;
+    }
+
+    private static boolean startsWith(ByteBuffer b, char... expected) {
+        if (b.remaining() < expected.length) return false;
+        for (int i = 0; i < expected.length; i++) {
+            if (b.get(i) != (byte) expected[i]) return false;
+        }
+        return true;
+    }
+
+    private static boolean startsWith(ByteBuffer b, byte... expected) {
+        if (b.remaining() < expected.length) return false;
+        for (int i = 0; i < expected.length; i++) {
+            if (b.get(i) != expected[i]) return false;
+        }
+        return true;
+    }
+}
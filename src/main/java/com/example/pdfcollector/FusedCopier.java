@@ -0,0 +1,69 @@
+package com.example.pdfcollector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Copie en une seule lecture de la source : chaque bloc (buffers directs réutilisés)
+ * est écrit dans dst (le ".part" fourni par l'appelant) puis passé aux inspecteurs
+ * (validation, empreinte). Rejet d'un inspecteur (dès un bloc pour un en-tête invalide,
+ * sinon en fin de flux) : copie arrêtée, dst supprimé, le nom final n'apparaît jamais ;
+ * la publication du ".part" revient à DurableWriter.
+ */
+public class FusedCopier implements CopyStrategy {
+
+    // contenu refusé par un inspecteur (à distinguer d'une erreur d'I/O)
+    public static class RejectedException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public RejectedException(String reason) {
+            super(reason);
+        }
+    }
+
+    private static final int BUF_SIZE = 1024 * 1024;
+    private final BlockingQueue<ByteBuffer> pool = new ArrayBlockingQueue<>(64);
+
+    @Override public String name() { return "fused"; }
+
+    @Override
+    public void copy(Path src, Path dst, long size) throws IOException {
+        copy(src, dst, List.of());
+    }
+
+    public void copy(Path src, Path dst, List<StreamInspector> inspectors) throws IOException {
+        ByteBuffer buf = pool.poll();
+        if (buf == null) buf = ByteBuffer.allocateDirect(BUF_SIZE);
+
+        boolean ok = false;
+        try (FileChannel in = FileChannel.open(src, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(dst, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                     StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long pos = 0;
+            buf.clear();
+            while (in.read(buf) != -1) {
+                buf.flip();
+                for (StreamInspector i : inspectors) i.update(buf, pos);
+                pos += buf.remaining();
+                while (buf.hasRemaining()) out.write(buf);
+                buf.clear();
+            }
+            for (StreamInspector i : inspectors) {
+                String bad = i.finish(pos, out);
+                if (bad != null) throw new RejectedException(bad);
+            }
+            ok = true;
+        } finally {
+            buf.clear();
+            pool.offer(buf);
+            if (!ok) Files.deleteIfExists(dst);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.pdfcollector;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache persistant des empreintes de contenu, clé = chemin absolu normalisé,
+ * valide tant que taille et mtime n'ont pas changé.
+ * Un second run sur un arbre inchangé ne relit donc aucun fichier pour le hachage.
+ * Taille bornée : au-delà de maxEntries, les entrées les moins récemment utilisées
+ * sont évincées (LinkedHashMap en ordre d'accès).
+ */
+public class HashCache {
+
+    public static final String FILE_NAME = ".pdfcollector-hashes.bin";
+    public static final int DEFAULT_MAX_ENTRIES = 2_000_000;
+
+    private static final int MAGIC = 0x50434843; // "PCHC"
+    private static final int VERSION = 1;
+
+    private static final class Entry {
+        final long size;
+        final long mtime;
+        byte[] partial;
+        byte[] full;
+
+        Entry(long size, long mtime) {
+            this.size = size;
+            this.mtime = mtime;
+        }
+    }
+
+    private final int maxEntries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private boolean dirty;
+
+    public HashCache(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > HashCache.this.maxEntries;
+            }
+        };
+    }
+
+    public byte[] partial(FileEntry e) {
+        return lookup(e, false);
+    }
+
+    public byte[] full(FileEntry e) {
+        return lookup(e, true);
+    }
+
+    public void putPartial(FileEntry e, byte[] hash) {
+        store(e, hash, false);
+    }
+
+    public void putFull(FileEntry e, byte[] hash) {
+        store(e, hash, true);
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private byte[] lookup(FileEntry e, boolean full) {
+        byte[] h = null;
+        lock.lock();
+        try {
+            Entry en = entries.get(key(e.path()));
+            if (en != null && en.size == e.size() && en.mtime == e.lastModified()) {
+                h = full ? en.full : en.partial;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (h != null) hits.increment(); else misses.increment();
+        return h;
+    }
+
+    private void store(FileEntry e, byte[] hash, boolean full) {
+        String k = key(e.path());
+        lock.lock();
+        try {
+            Entry en = entries.get(k);
+            // fichier modifié depuis : l'ancienne entrée est remplacée
+            if (en == null || en.size != e.size() || en.mtime != e.lastModified()) {
+                en = new Entry(e.size(), e.lastModified());
+                entries.put(k, en);
+            }
+            if (full) en.full = hash; else en.partial = hash;
+            dirty = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String key(Path p) {
+        return p.toAbsolutePath().normalize().toString();
+    }
+
+    // ------------------ Persistance ------------------
+
+    // cache vide si absent ou illisible (il sera simplement reconstruit)
+    public static HashCache load(Path file, int maxEntries) {
+        HashCache cache = new HashCache(maxEntries);
+        if (!Files.isRegularFile(file)) return cache;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file), 64 * 1024)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) return cache;
+
+            int n = in.readInt();
+            // ordre d'écriture = du moins au plus récemment utilisé : l'ordre LRU est conservé
+            for (int i = 0; i < n; i++) {
+                String k = in.readUTF();
+                Entry en = new Entry(in.readLong(), in.readLong());
+                en.partial = readHash(in);
+                en.full = readHash(in);
+                cache.entries.put(k, en);
+            }
+        } catch (IOException | RuntimeException ex) {
+            return new HashCache(maxEntries);
+        }
+        return cache;
+    }
+
+    // temporaire puis renommage, comme l'index incrémental ; rien à faire si aucun ajout
+    public void save(Path file) throws IOException {
+        lock.lock();
+        try {
+            if (!dirty) return;
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(tmp), 64 * 1024)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(entries.size());
+                for (var e : entries.entrySet()) {
+                    Entry en = e.getValue();
+                    out.writeUTF(e.getKey());
+                    out.writeLong(en.size);
+                    out.writeLong(en.mtime);
+                    writeHash(out, en.partial);
+                    writeHash(out, en.full);
+                }
+            }
+            DurableWriter.moveIntoPlace(tmp, file);
+            dirty = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static byte[] readHash(DataInputStream in) throws IOException {
+        int len = in.readUnsignedByte();
+        if (len == 0) return null;
+        byte[] h = new byte[len];
+        in.readFully(h);
+        return h;
+    }
+
+    private static void writeHash(DataOutputStream out, byte[] h) throws IOException {
+        if (h == null) {
+            out.writeByte(0);
+        } else {
+            out.writeByte(h.length);
+            out.write(h);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.pdfcollector;
+
+import java.util.List;
+
+// Limite le nombre d'opérations I/O simultanées (fixe ou ajustée à chaud)
+public interface IoLimiter {
+
+    void acquire() throws InterruptedException;
+
+    // bytes/nanos : mesure de l'opération terminée (0 si rien n'a été copié)
+    void release(long bytes, long nanos);
+
+    int currentLimit();
+
+    List<IoSample> curve();
+}
@@ -0,0 +1,3 @@
+package com.example.pdfcollector;
+
+public record IoSample(long atMillis, int limit, double mbps, double nsPerByte) { }
@@ -0,0 +1,213 @@
+package com.example.pdfcollector;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Journal append-only des copies d'un run (reprise après crash / fermeture).
+ * Deux enregistrements par fichier : BEGIN (source -> destination) émis avant l'écriture,
+ * DONE (taille + mtime source) après. Les écritures sont regroupées et fsync
+ * toutes les SYNC_EVERY entrées ou SYNC_MILLIS ms, BEGIN compris : un crash peut perdre
+ * les derniers enregistrements. Une copie dont le BEGIN est perdu est refaite comme un
+ * fichier neuf ; son temporaire orphelin n'est pas connu du journal et reste en place, et
+ * une destination déjà renommée (durabilité none) peut rester, la copie refaite prenant
+ * alors un nom " (n)".
+ * UNDONE annule un DONE (copie supprimée après échec de la vérification).
+ * À la reprise : DONE => fichier ignoré sans I/O ; BEGIN sans DONE => nom réservé avant
+ * le démarrage des workers puis recopié sous ce nom (nom déjà présent : copie refaite
+ * comme un fichier neuf) ; UNDONE => fichier refait.
+ */
+public class JobJournal implements Closeable {
+
+    public static final String FILE_NAME = ".pdfcollector-journal.bin";
+
+    private static final byte BEGIN = 'B';
+    private static final byte DONE = 'D';
+    private static final byte UNDONE = 'U';
+    private static final int SYNC_EVERY = 256;
+    private static final long SYNC_MILLIS = 200;
+
+    public record Done(String dest, long size, long mtime) { }
+
+    // état reconstruit depuis un journal existant
+    public static final class Replay {
+        final Map<String, Done> done = new HashMap<>();
+        final Map<String, String> pending = new HashMap<>();
+
+        public Done done(Path src) {
+            return done.get(key(src));
+        }
+
+        public String pending(Path src) {
+            return pending.get(key(src));
+        }
+
+        public int doneCount() {
+            return done.size();
+        }
+
+        public int pendingCount() {
+            return pending.size();
+        }
+
+        // copies commencées mais jamais terminées : source -> destination
+        public Map<String, String> pendingBySource() {
+            return Collections.unmodifiableMap(pending);
+        }
+
+        // destination plus reprenable (nom pris) : la copie est refaite comme un fichier neuf
+        public void forgetPending(String src) {
+            pending.remove(src);
+        }
+    }
+
+    private final FileChannel channel;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ByteArrayOutputStream buf = new ByteArrayOutputStream(64 * 1024);
+    private final DataOutputStream out = new DataOutputStream(buf);
+    private final ScheduledExecutorService syncer;
+    private int unsynced;
+
+    private JobJournal(FileChannel channel) {
+        this.channel = channel;
+        this.syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "journal-sync");
+            t.setDaemon(true);
+            return t;
+        });
+        syncer.scheduleWithFixedDelay(this::syncQuietly, SYNC_MILLIS, SYNC_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    // append=false : nouveau journal (run neuf) ; append=true : reprise
+    public static JobJournal open(Path file, boolean append) throws IOException {
+        FileChannel ch = append
+                ? FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+                : FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new JobJournal(ch);
+    }
+
+    // un enregistrement tronqué en fin de fichier (crash) est simplement ignoré
+    public static Replay replay(Path file) {
+        Replay r = new Replay();
+        if (!Files.isRegularFile(file)) return r;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+            while (true) {
+                byte type = in.readByte();
+                String src = in.readUTF();
+                String dst = in.readUTF();
+                if (type == BEGIN) {
+                    r.pending.put(src, dst);
+                } else if (type == DONE) {
+                    long size = in.readLong();
+                    long mtime = in.readLong();
+                    r.pending.remove(src);
+                    r.done.put(src, new Done(dst, size, mtime));
+                } else if (type == UNDONE) {
+                    r.done.remove(src);
+                } else {
+                    break;
+                }
+            }
+        } catch (IOException ignored) {
+            // EOF ou fin tronquée
+        }
+        return r;
+    }
+
+    public void begin(Path src, Path dst) throws IOException {
+        lock.lock();
+        try {
+            out.writeByte(BEGIN);
+            out.writeUTF(key(src));
+            out.writeUTF(dst.toString());
+            afterRecord();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void done(Path src, Path dst, long size, long mtime) throws IOException {
+        lock.lock();
+        try {
+            out.writeByte(DONE);
+            out.writeUTF(key(src));
+            out.writeUTF(dst.toString());
+            out.writeLong(size);
+            out.writeLong(mtime);
+            afterRecord();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // copie déjà journalisée DONE puis supprimée (vérification) : à refaire à la reprise
+    public void undone(Path src, Path dst) throws IOException {
+        lock.lock();
+        try {
+            out.writeByte(UNDONE);
+            out.writeUTF(key(src));
+            out.writeUTF(dst.toString());
+            afterRecord();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // appelé sous le lock
+    private void afterRecord() throws IOException {
+        if (++unsynced >= SYNC_EVERY) sync();
+    }
+
+    // appelé sous le lock
+    private void sync() throws IOException {
+        if (buf.size() == 0) return;
+        ByteBuffer bb = ByteBuffer.wrap(buf.toByteArray());
+        while (bb.hasRemaining()) channel.write(bb);
+        channel.force(false);
+        buf.reset();
+        unsynced = 0;
+    }
+
+    private void syncQuietly() {
+        lock.lock();
+        try {
+            sync();
+        } catch (IOException ignored) {
+            // nouvel essai au prochain passage
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        // pas de shutdownNow : interrompre un write/force en cours fermerait le FileChannel
+        syncer.shutdown();
+        try {
+            syncer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            sync();
+        } finally {
+            lock.unlock();
+            channel.close();
+        }
+    }
+
+    static String key(Path src) {
+        return src.toAbsolutePath().normalize().toString();
+    }
+}
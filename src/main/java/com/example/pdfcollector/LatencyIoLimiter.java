@@ -0,0 +1,44 @@
+package com.example.pdfcollector;
+
+import java.util.List;
+
+/**
+ * Banc d'essai uniquement : ajoute une latence fixe après chaque permis obtenu
+ * (substitut d'un FS réseau, le permis est tenu pendant l'attente comme pendant un I/O lent).
+ */
+final class LatencyIoLimiter implements IoLimiter {
+
+    private final IoLimiter delegate;
+    private final long latencyMs;
+
+    LatencyIoLimiter(IoLimiter delegate, long latencyMs) {
+        this.delegate = delegate;
+        this.latencyMs = latencyMs;
+    }
+
+    @Override
+    public void acquire() throws InterruptedException {
+        delegate.acquire();
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException ex) {
+            delegate.release(0L, 0L);
+            throw ex;
+        }
+    }
+
+    @Override
+    public void release(long bytes, long nanos) {
+        delegate.release(bytes, nanos);
+    }
+
+    @Override
+    public int currentLimit() {
+        return delegate.currentLimit();
+    }
+
+    @Override
+    public List<IoSample> curve() {
+        return delegate.curve();
+    }
+}
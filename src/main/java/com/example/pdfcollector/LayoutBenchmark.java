@@ -0,0 +1,4 @@
+package com.example.pdfcollector;
+
+// Latence moyenne de création : sur tout le lot, et sur le dernier 10 % (dossiers déjà pleins)
+public record LayoutBenchmark(String layout, int files, double avgCreateMicros, double tailCreateMicros) { }
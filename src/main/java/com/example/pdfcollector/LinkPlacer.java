@@ -0,0 +1,122 @@
+package com.example.pdfcollector;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mise en place d'un fichier dans la destination sans copier les octets :
+ * - hardlink : Files.createLink (même système de fichiers uniquement)
+ * - reflink  : clone copy-on-write (btrfs, XFS, APFS...) via "cp --reflink=always" / "cp -c"
+ * place() renvoie false quand le mode ne s'applique pas (autre périphérique, FS non
+ * compatible) : l'appelant fait alors une vraie copie. Un échec "non supporté" est
+ * mémorisé par FileStore source pour ne pas réessayer sur chaque fichier.
+ */
+public class LinkPlacer {
+
+    public static final String COPY = "copy";
+    public static final String HARDLINK = "hardlink";
+    public static final String REFLINK = "reflink";
+
+    // en dessous : un fork de "cp" coûte plus cher que la copie elle-même
+    private static final long REFLINK_MIN_BYTES = 1024L * 1024;
+
+    private static final boolean MAC = System.getProperty("os.name", "").toLowerCase(Locale.ROOT).contains("mac");
+    private static final boolean WINDOWS = System.getProperty("os.name", "").toLowerCase(Locale.ROOT).contains("win");
+
+    private final String mode;
+    private final FileStore destStore;
+    // dossier source -> FileStore (résolu une fois par dossier, comme DeviceRegistry)
+    private final Map<Path, FileStore> storeByDir = new ConcurrentHashMap<>();
+    private final Map<FileStore, Boolean> unsupported = new ConcurrentHashMap<>();
+
+    final AtomicInteger linked = new AtomicInteger(0);
+    final AtomicInteger cloned = new AtomicInteger(0);
+    final AtomicInteger fallbacks = new AtomicInteger(0);
+
+    public LinkPlacer(String mode, Path destDir) throws IOException {
+        this.mode = mode == null ? COPY : mode.toLowerCase(Locale.ROOT);
+        this.destStore = Files.getFileStore(destDir);
+    }
+
+    public boolean active() {
+        return HARDLINK.equals(mode) || REFLINK.equals(mode);
+    }
+
+    // true si dst a été créé par lien / clone ; false => copie classique à faire
+    public boolean place(Path src, Path dst, long size) throws IOException {
+        if (!active()) return false;
+        if (REFLINK.equals(mode) && (size < REFLINK_MIN_BYTES || WINDOWS)) return fallback();
+
+        FileStore store = storeOf(src);
+        if (!destStore.equals(store) || unsupported.containsKey(store)) return fallback();
+
+        if (HARDLINK.equals(mode)) {
+            try {
+                Files.createLink(dst, src);
+                linked.incrementAndGet();
+                return true;
+            } catch (UnsupportedOperationException | FileSystemException ex) {
+                if (ex instanceof FileAlreadyExistsException || ex instanceof NoSuchFileException) throw ex;
+                unsupported.put(store, Boolean.TRUE);
+                return fallback();
+            }
+        }
+
+        if (clone(src, dst)) {
+            cloned.incrementAndGet();
+            return true;
+        }
+        unsupported.put(store, Boolean.TRUE);
+        Files.deleteIfExists(dst);
+        return fallback();
+    }
+
+    // même FileStore que la destination : un déplacement n'est qu'un renommage (métadonnées)
+    public boolean sameStore(Path src) {
+        try {
+            return destStore.equals(storeOf(src));
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    private boolean fallback() {
+        fallbacks.incrementAndGet();
+        return false;
+    }
+
+    private FileStore storeOf(Path src) throws IOException {
+        Path dir = src.getParent();
+        if (dir == null) return Files.getFileStore(src);
+        FileStore s = storeByDir.get(dir);
+        if (s != null) return s;
+        s = Files.getFileStore(dir);
+        FileStore prev = storeByDir.putIfAbsent(dir, s);
+        return prev != null ? prev : s;
+    }
+
+    // pas d'API Java pour FICLONE / clonefile : on délègue à cp, qui échoue si le clone est impossible
+    private static boolean clone(Path src, Path dst) throws IOException {
+        ProcessBuilder pb = MAC
+                ? new ProcessBuilder("cp", "-c", src.toString(), dst.toString())
+                : new ProcessBuilder("cp", "--reflink=always", src.toString(), dst.toString());
+        pb.redirectErrorStream(true);
+        pb.redirectOutput(ProcessBuilder.Redirect.DISCARD);
+        try {
+            Process p = pb.start();
+            if (!p.waitFor(60, TimeUnit.SECONDS)) {
+                p.destroyForcibly();
+                return false;
+            }
+            return p.exitValue() == 0;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("clone interrompu", ex);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.pdfcollector;
+
+import java.util.List;
+
+/**
+ * Deux budgets à tenir ensemble (ex: périphérique source puis destination partagée) :
+ * un permis n'est accordé que si les deux en ont un. Ordre d'acquisition toujours
+ * first puis second (pas d'interblocage entre paires qui partagent second).
+ */
+public class PairedIoLimiter implements IoLimiter {
+
+    private final IoLimiter first;
+    private final IoLimiter second;
+
+    public PairedIoLimiter(IoLimiter first, IoLimiter second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    @Override
+    public void acquire() throws InterruptedException {
+        first.acquire();
+        try {
+            second.acquire();
+        } catch (InterruptedException ex) {
+            first.release(0L, 0L);
+            throw ex;
+        }
+    }
+
+    @Override
+    public void release(long bytes, long nanos) {
+        second.release(bytes, nanos);
+        first.release(bytes, nanos);
+    }
+
+    @Override
+    public int currentLimit() {
+        return Math.min(first.currentLimit(), second.currentLimit());
+    }
+
+    // courbe du premier budget (celui propre à la paire)
+    @Override
+    public List<IoSample> curve() {
+        return first.curve();
+    }
+}
@@ -20,15 +20,33 @@ public class PdfCollectorController {
     @FXML private TextField destField;
 
     @FXML private CheckBox sortByDateCheck;
+    @FXML private CheckBox sortOnDiskCheck;
     @FXML private CheckBox validateFastCheck;
+    @FXML private CheckBox validateStructureCheck;
+    @FXML private CheckBox fusedCopyCheck;
+    @FXML private CheckBox verifyCopiesCheck;
     @FXML private CheckBox moveInsteadCopyCheck;
     @FXML private CheckBox verboseLogCheck;
 
     @FXML private CheckBox skipExistingCheck; // NEW
+    @FXML private CheckBox pipelinedCheck;
+    @FXML private CheckBox sizeScheduleCheck;
+    @FXML private CheckBox incrementalCheck;
+    @FXML private CheckBox resumeCheck;
+    @FXML private CheckBox dedupCheck;
+    @FXML private CheckBox adaptiveIoCheck;
+    @FXML private CheckBox perDeviceIoCheck;
+    @FXML private CheckBox virtualThreadsCheck;
 
     @FXML private Spinner<Integer> threadsSpinner;
     @FXML private Spinner<Integer> maxIoSpinner;
     @FXML private Spinner<Integer> progressEverySpinner;
+    @FXML private Spinner<Integer> scanThreadsSpinner;
+    @FXML private Spinner<Integer> validateThreadsSpinner;
+    @FXML private ComboBox<String> copyStrategyCombo;
+    @FXML private ComboBox<String> collectModeCombo;
+    @FXML private ComboBox<String> destLayoutCombo;
+    @FXML private ComboBox<String> durabilityCombo;
 
     @FXML private ListView<String> extListView;
     @FXML private Label validatedExtLabel;
@@ -48,6 +66,9 @@ public class PdfCollectorController {
     @FXML private TableColumn<ExtStatRow, Double> colSizeMb;
     @FXML private TableColumn<ExtStatRow, Double> colPercent;
 
+    // gros fichiers (dumps, zip) copiés par plages parallèles au-delà de ce seuil
+    private static final int CHUNKED_THRESHOLD_MB = 1024;
+
     private Task<CollectorStats> currentTask;
     private Set<String> validatedExtensions = Set.of("pdf"); // default
 
@@ -58,10 +79,35 @@ public class PdfCollectorController {
         int defaultThreads = Math.min(32, Math.max(2, cores * 2));
         int defaultMaxIo = 12;
         int defaultProgressEvery = 200;
+        int defaultScanThreads = Math.min(8, Math.max(1, cores));
+        int defaultValidateThreads = Math.min(4, Math.max(1, cores));
 
         threadsSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(1, 64, defaultThreads));
         maxIoSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(1, 64, defaultMaxIo));
         progressEverySpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(1, 5000, defaultProgressEvery));
+        scanThreadsSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(1, 64, defaultScanThreads));
+        // 0 = validation faite par les workers de copie
+        validateThreadsSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(0, 32, defaultValidateThreads));
+
+        copyStrategyCombo.setItems(FXCollections.observableArrayList(
+                CopyStrategies.AUTO, "files", "transfer", "buffered", "mapped"
+        ));
+        copyStrategyCombo.getSelectionModel().select(CopyStrategies.AUTO);
+
+        collectModeCombo.setItems(FXCollections.observableArrayList(
+                LinkPlacer.COPY, LinkPlacer.HARDLINK, LinkPlacer.REFLINK
+        ));
+        collectModeCombo.getSelectionModel().select(LinkPlacer.COPY);
+
+        destLayoutCombo.setItems(FXCollections.observableArrayList(
+                DestLayout.FLAT, DestLayout.HASH, DestLayout.DATE, DestLayout.EXT, DestLayout.TREE
+        ));
+        destLayoutCombo.getSelectionModel().select(DestLayout.FLAT);
+
+        durabilityCombo.setItems(FXCollections.observableArrayList(
+                DurableWriter.NONE, DurableWriter.FILE, DurableWriter.GROUP
+        ));
+        durabilityCombo.getSelectionModel().select(DurableWriter.NONE);
 
         // extensions list
         extListView.setItems(FXCollections.observableArrayList(
@@ -106,7 +152,8 @@ public class PdfCollectorController {
         });
 
         appendLog("CPU logical cores detected: " + cores);
-        appendLog("Defaults: threads=" + defaultThreads + " maxIO=" + defaultMaxIo + " progressEvery=" + defaultProgressEvery);
+        appendLog("Defaults: threads=" + defaultThreads + " maxIO=" + defaultMaxIo + " progressEvery=" + defaultProgressEvery
+                + " scanThreads=" + defaultScanThreads);
     }
 
     // -------- Extensions UI --------
@@ -181,19 +228,7 @@ public class PdfCollectorController {
             return;
         }
 
-        CollectorConfig cfg = new CollectorConfig(
-                Path.of(srcTxt),
-                Path.of(destTxt),
-                sortByDateCheck.isSelected(),
-                validateFastCheck.isSelected(),
-                moveInsteadCopyCheck.isSelected(),
-                verboseLogCheck.isSelected(),
-                threadsSpinner.getValue(),
-                maxIoSpinner.getValue(),
-                progressEverySpinner.getValue(),
-                validatedExtensions,
-                skipExistingCheck.isSelected()
-        );
+        CollectorConfig cfg = buildConfig(srcTxt, destTxt);
 
         scanBtn.setDisable(true);
         startBtn.setDisable(true);
@@ -314,19 +349,7 @@ public class PdfCollectorController {
             return;
         }
 
-        CollectorConfig cfg = new CollectorConfig(
-                Path.of(srcTxt),
-                Path.of(destTxt),
-                sortByDateCheck.isSelected(),
-                validateFastCheck.isSelected(),
-                moveInsteadCopyCheck.isSelected(),
-                verboseLogCheck.isSelected(),
-                threadsSpinner.getValue(),
-                maxIoSpinner.getValue(),
-                progressEverySpinner.getValue(),
-                validatedExtensions,
-                skipExistingCheck.isSelected()
-        );
+        CollectorConfig cfg = buildConfig(srcTxt, destTxt);
 
         scanBtn.setDisable(true);
         startBtn.setDisable(true);
@@ -342,7 +365,16 @@ public class PdfCollectorController {
             protected CollectorStats call() throws Exception {
                 return engine.run(
                         cfg,
-                        p -> { updateProgress(p, 1.0); updateMessage("Progress: " + (int)Math.round(p * 100) + "%"); },
+                        p -> {
+                            if (p < 0) {
+                                // mode pipeline : total inconnu tant que le scan tourne
+                                updateProgress(-1, 1.0);
+                                updateMessage("Copie en cours (scan en cours)...");
+                            } else {
+                                updateProgress(p, 1.0);
+                                updateMessage("Progress: " + (int)Math.round(p * 100) + "%");
+                            }
+                        },
                         msg -> Platform.runLater(() -> appendLog(msg)),
                         this::isCancelled
                 );
@@ -369,6 +401,41 @@ public class PdfCollectorController {
         }
     }
 
+    private CollectorConfig buildConfig(String srcTxt, String destTxt) {
+        return new CollectorConfig(
+                Path.of(srcTxt),
+                Path.of(destTxt),
+                sortByDateCheck.isSelected(),
+                validateFastCheck.isSelected(),
+                moveInsteadCopyCheck.isSelected(),
+                verboseLogCheck.isSelected(),
+                threadsSpinner.getValue(),
+                maxIoSpinner.getValue(),
+                progressEverySpinner.getValue(),
+                validatedExtensions,
+                skipExistingCheck.isSelected(),
+                scanThreadsSpinner.getValue(),
+                pipelinedCheck.isSelected(),
+                copyStrategyCombo.getValue(),
+                CHUNKED_THRESHOLD_MB,
+                sizeScheduleCheck.isSelected() ? CollectorEngine.SCHEDULE_SIZE : CollectorEngine.SCHEDULE_FIFO,
+                adaptiveIoCheck.isSelected(),
+                perDeviceIoCheck.isSelected(),
+                virtualThreadsCheck.isSelected(),
+                incrementalCheck.isSelected(),
+                resumeCheck.isSelected(),
+                dedupCheck.isSelected(),
+                collectModeCombo.getValue(),
+                destLayoutCombo.getValue(),
+                validateStructureCheck.isSelected(),
+                validateThreadsSpinner.getValue(),
+                fusedCopyCheck.isSelected(),
+                verifyCopiesCheck.isSelected(),
+                durabilityCombo.getValue(),
+                sortOnDiskCheck.isSelected() ? ExternalSorter.DEFAULT_RUN_ENTRIES : 0
+        );
+    }
+
     private void onEndOk(CollectorStats st) {
         unbindStatus();
         scanBtn.setDisable(false);
@@ -386,10 +453,53 @@ public class PdfCollectorController {
         appendLog("Types de fichiers     : " + types);
         appendLog("Total trouvés         : " + st.totalFound());
         appendLog("Copiés/Déplacés       : " + st.copiedOrMoved());
+        if (st.renamed() + st.crossMoved() > 0) {
+            appendLog("  dont renommés / copiés+supprimés : " + st.renamed() + " / " + st.crossMoved());
+        }
+        if (st.hardLinked() + st.reflinked() + st.linkFallbacks() > 0) {
+            appendLog("  dont liens / clones : " + st.hardLinked() + " / " + st.reflinked()
+                    + " (copie de repli : " + st.linkFallbacks() + ")");
+        }
         appendLog("Ignorés (déjà exist.) : " + st.skipped());
+        appendLog("Doublons (contenu)    : " + st.duplicates());
         appendLog("Corrompus (" + types + ") : " + st.corrupted());
+        if (st.quarantined() > 0) {
+            appendLog("  en quarantaine      : " + st.quarantined() + " (" + CollectorEngine.QUARANTINE_DIR + ")");
+        }
         appendLog("Échecs (" + types + ")    : " + st.failed());
+        if (st.verified() + st.verifyMismatches() > 0) {
+            appendLog("Vérifiés (relecture)  : " + st.verified() + " (écarts : " + st.verifyMismatches()
+                    + ", recopiés : " + st.verifyRepaired() + ")");
+        }
         appendLog("Taille totale         : " + df.format(mb) + " MB");
+        appendLog("Durée                 : " + df.format(st.elapsedMillis() / 1000.0) + " s");
+        appendLog("Limite I/O finale     : " + st.ioLimit());
+        st.deviceStats().forEach(ds -> appendLog(String.format(
+                "  [%s] %d fichiers, %s MB, %.0f MB/s, limite=%d",
+                ds.device(), ds.files(), df.format(ds.bytes() / (1024.0 * 1024.0)), ds.mbps(), ds.ioLimit()
+        )));
+        st.validationStats().forEach(fs -> appendLog(String.format(
+                "  Validation %s : %d fichiers, %d rejetés, %.1f µs/fichier",
+                fs.format(), fs.files(), fs.rejected(), fs.avgMicros()
+        )));
+        if (!st.ioCurve().isEmpty()) {
+            // courbe limite / débit, échantillonnée sur ~20 points
+            var curve = st.ioCurve();
+            int step = Math.max(1, curve.size() / 20);
+            appendLog("Courbe I/O adaptative :");
+            for (int i = 0; i < curve.size(); i += step) {
+                IoSample sm = curve.get(i);
+                appendLog(String.format("  t=%6.1fs limite=%2d débit=%.0f MB/s",
+                        sm.atMillis() / 1000.0, sm.limit(), sm.mbps()));
+            }
+        }
+        if (!st.copyStats().isEmpty()) {
+            appendLog("Copie par stratégie   :");
+            st.copyStats().forEach(cs -> appendLog(String.format(
+                    "  - %-8s %-8s : %d fichiers, %s MB, %.0f MB/s",
+                    cs.strategy(), cs.sizeClass(), cs.files(), df.format(cs.bytes() / (1024.0 * 1024.0)), cs.mbps()
+            )));
+        }
 
         statusLabel.setText("Terminé ✔");
     }
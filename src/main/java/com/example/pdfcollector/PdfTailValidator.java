@@ -0,0 +1,96 @@
+package com.example.pdfcollector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Validation structurelle d'un PDF sans lire le fichier entier (lectures positionnelles) :
+ * - en-tête "%PDF-"
+ * - "%%EOF" dans les derniers TAIL_BYTES octets
+ * - "startxref" suivi d'un offset dans les bornes du fichier
+ * - à cet offset : une table "xref" ou un flux xref ("n g obj")
+ * Un téléchargement tronqué perd sa fin de fichier et échoue ici.
+ */
+public final class PdfTailValidator {
+
+    static final int TAIL_BYTES = 4 * 1024;
+    static final int HEAD_BYTES = 5;
+    private static final int XREF_PEEK = 64;
+
+    private PdfTailValidator() { }
+
+    // null si le fichier semble complet, sinon la raison du rejet
+    public static String check(FileChannel ch, long len) throws IOException {
+        String bad = checkHead(FormatValidators.read(ch, 0, HEAD_BYTES), len);
+        return bad != null ? bad : checkEnd(ch, len);
+    }
+
+    // longueur + "%PDF-" : jugeable sur les premiers octets (copie fusionnée)
+    static String checkHead(ByteBuffer head, long len) {
+        if (len < 16) return "fichier trop court";
+        if (head.remaining() < HEAD_BYTES) return "en-tête %PDF absent";
+        byte[] h = new byte[HEAD_BYTES];
+        head.duplicate().get(h);
+        return "%PDF-".equals(new String(h, StandardCharsets.ISO_8859_1)) ? null : "en-tête %PDF absent";
+    }
+
+    // fin de fichier, en-tête déjà accepté
+    static String checkEnd(FileChannel ch, long len) throws IOException {
+        int tailLen = (int) Math.min(TAIL_BYTES, len);
+        return checkTail(read(ch, len - tailLen, tailLen), len, ch);
+    }
+
+    // tail = derniers octets (ISO-8859-1) ; ch sert seulement à lire quelques octets à l'offset xref
+    static String checkTail(String tail, long len, FileChannel ch) throws IOException {
+        int eof = tail.lastIndexOf("%%EOF");
+        if (eof < 0) return "%%EOF absent (fichier tronqué ?)";
+
+        int sx = tail.lastIndexOf("startxref", eof);
+        if (sx < 0) return "startxref absent";
+
+        long offset = parseOffset(tail, sx + "startxref".length(), eof);
+        if (offset < 0) return "offset startxref illisible";
+        if (offset >= len) return "offset startxref hors fichier";
+
+        String at = read(ch, offset, (int) Math.min(XREF_PEEK, len - offset));
+        if (!isXrefAt(at)) return "aucune table xref à l'offset " + offset;
+        return null;
+    }
+
+    static String read(FileChannel ch, long pos, int n) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(n);
+        while (buf.hasRemaining()) {
+            int r = ch.read(buf, pos + buf.position());
+            if (r < 0) break;
+        }
+        // ISO-8859-1 : un octet = un caractère, les positions restent exactes
+        return new String(buf.array(), 0, buf.position(), StandardCharsets.ISO_8859_1);
+    }
+
+    private static long parseOffset(String s, int from, int to) {
+        int i = from;
+        while (i < to && Character.isWhitespace(s.charAt(i))) i++;
+        int start = i;
+        while (i < to && i - start < 19 && Character.isDigit(s.charAt(i))) i++;
+        if (i == start) return -1;
+        return Long.parseLong(s.substring(start, i));
+    }
+
+    // table classique "xref" ou flux xref (PDF 1.5+) : "12 0 obj"
+    private static boolean isXrefAt(String s) {
+        String t = s.stripLeading();
+        if (t.startsWith("xref")) return true;
+        int i = 0;
+        for (int part = 0; part < 2; part++) {
+            int start = i;
+            while (i < t.length() && Character.isDigit(t.charAt(i))) i++;
+            if (i == start) return false;
+            int ws = i;
+            while (i < t.length() && Character.isWhitespace(t.charAt(i))) i++;
+            if (i == ws) return false;
+        }
+        return t.startsWith("obj", i);
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.pdfcollector;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Index persistant du dernier walk (scan incrémental) : dossiers avec leur mtime,
+ * fichiers avec taille, mtime et résultat du traitement.
+ * Un dossier dont la mtime n'a pas bougé n'est pas relu : sa liste d'entrées vient
+ * de l'index (ses sous-dossiers sont tout de même vérifiés un par un).
+ * Limite connue : une modification "sur place" d'un fichier ne change pas la mtime
+ * de son dossier, elle n'est donc vue que si le dossier change aussi.
+ */
+public class ScanIndex {
+
+    public static final String FILE_NAME = ".pdfcollector-index.bin";
+
+    public static final byte PENDING = 0;
+    public static final byte COPIED = 1;
+    public static final byte SKIPPED = 2;
+    public static final byte CORRUPTED = 3;
+    public static final byte FAILED = 4;
+
+    // mtime d'un dossier dont le listing a échoué : jamais égale à la vraie, il est relu au run suivant
+    public static final long UNREAD = -1L;
+
+    private static final int MAGIC = 0x50434958; // "PCIX"
+    private static final int VERSION = 1;
+
+    public static final class FileRec {
+        final long size;
+        final long mtime;
+        volatile byte outcome;
+
+        FileRec(long size, long mtime, byte outcome) {
+            this.size = size;
+            this.mtime = mtime;
+            this.outcome = outcome;
+        }
+
+        // déjà traité avec succès (ou jugé corrompu) : inutile de le reproposer
+        boolean settled() {
+            return outcome == COPIED || outcome == SKIPPED || outcome == CORRUPTED;
+        }
+    }
+
+    public static final class DirRec {
+        final long mtime;
+        final List<String> subdirs;
+        final Map<String, FileRec> files;
+
+        DirRec(long mtime, List<String> subdirs, Map<String, FileRec> files) {
+            this.mtime = mtime;
+            this.subdirs = subdirs;
+            this.files = files;
+        }
+    }
+
+    private final Path source;
+    private final String signature;
+    private final Map<String, DirRec> dirs = new ConcurrentHashMap<>();
+
+    public ScanIndex(Path source, Set<String> extensions) {
+        this.source = source;
+        this.signature = signature(source, extensions);
+    }
+
+    // clé : chemin relatif à la source, séparateur '/', "" pour la racine
+    String key(Path dir) {
+        return source.relativize(dir).toString().replace('\\', '/');
+    }
+
+    DirRec dir(Path dir) {
+        return dirs.get(key(dir));
+    }
+
+    void putDir(Path dir, DirRec rec) {
+        dirs.put(key(dir), rec);
+    }
+
+    public void outcome(Path file, byte outcome) {
+        Path parent = file.getParent();
+        if (parent == null) return;
+        DirRec d = dirs.get(key(parent));
+        if (d == null) return;
+        FileRec f = d.files.get(file.getFileName().toString());
+        if (f != null) f.outcome = outcome;
+    }
+
+    public int dirCount() {
+        return dirs.size();
+    }
+
+    public long fileCount() {
+        long n = 0;
+        for (DirRec d : dirs.values()) n += d.files.size();
+        return n;
+    }
+
+    // ------------------ Persistance ------------------
+
+    // null si absent, illisible, ou construit pour une autre source / d'autres extensions
+    public static ScanIndex load(Path file, Path source, Set<String> extensions) {
+        if (!Files.isRegularFile(file)) return null;
+
+        ScanIndex idx = new ScanIndex(source, extensions);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file), 64 * 1024)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) return null;
+            if (!idx.signature.equals(in.readUTF())) return null;
+
+            int nDirs = in.readInt();
+            for (int i = 0; i < nDirs; i++) {
+                String key = in.readUTF();
+                long mtime = in.readLong();
+
+                int nSub = in.readInt();
+                List<String> subdirs = new ArrayList<>(nSub);
+                for (int j = 0; j < nSub; j++) subdirs.add(in.readUTF());
+
+                int nFiles = in.readInt();
+                Map<String, FileRec> files = new HashMap<>(Math.max(4, nFiles * 4 / 3 + 1));
+                for (int j = 0; j < nFiles; j++) {
+                    String name = in.readUTF();
+                    files.put(name, new FileRec(in.readLong(), in.readLong(), in.readByte()));
+                }
+                idx.dirs.put(key, new DirRec(mtime, subdirs, files));
+            }
+        } catch (IOException | RuntimeException ex) {
+            return null;
+        }
+        return idx;
+    }
+
+    // écriture dans un fichier temporaire puis renommage : jamais d'index à moitié écrit
+    public void save(Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(tmp), 64 * 1024)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(signature);
+
+            out.writeInt(dirs.size());
+            for (var e : dirs.entrySet()) {
+                DirRec d = e.getValue();
+                out.writeUTF(e.getKey());
+                out.writeLong(d.mtime);
+
+                out.writeInt(d.subdirs.size());
+                for (String s : d.subdirs) out.writeUTF(s);
+
+                out.writeInt(d.files.size());
+                for (var f : d.files.entrySet()) {
+                    out.writeUTF(f.getKey());
+                    out.writeLong(f.getValue().size);
+                    out.writeLong(f.getValue().mtime);
+                    out.writeByte(f.getValue().outcome);
+                }
+            }
+        }
+        DurableWriter.moveIntoPlace(tmp, file);
+    }
+
+    private static String signature(Path source, Set<String> extensions) {
+        return source.toAbsolutePath().normalize() + "|" + String.join(",", new TreeSet<>(extensions));
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.pdfcollector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+// Contrôle appliqué au fil de la copie (FusedCopier) : voit chaque bloc lu une seule fois
+public interface StreamInspector {
+
+    // bloc lu à la position pos, avant son écriture (ne pas modifier position/limit du buffer).
+    // FusedCopier.RejectedException : copie arrêtée tout de suite, rien de plus n'est écrit
+    void update(ByteBuffer chunk, long pos) throws IOException;
+
+    // fin du flux : null si accepté, sinon raison du rejet. written = copie en cours (lecture possible)
+    String finish(long size, FileChannel written) throws IOException;
+}
@@ -0,0 +1,105 @@
+package com.example.pdfcollector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.util.zip.CRC32C;
+
+/**
+ * Contrôles disponibles pendant la copie :
+ * - format : validateur du registre, en-tête jugé au premier bloc, fin de fichier sur la copie écrite
+ * - Hash   : SHA-256 du contenu, réutilisable par le cache d'empreintes
+ * - Crc    : CRC32C de la source, attendu par la vérification après copie
+ */
+public final class StreamInspectors {
+
+    private StreamInspectors() { }
+
+    // en-tête jugé dès qu'il est lu (rejet : la copie s'arrête sans lire la suite) ;
+    // fin de fichier lue sur la copie écrite (en cache) : la source n'est pas relue.
+    // expectedSize : taille vue au scan, pour les contrôles de longueur de l'en-tête
+    public static StreamInspector format(FormatValidator v, FormatValidators registry, long expectedSize) {
+        return new StreamInspector() {
+            private final ByteBuffer head = ByteBuffer.allocate((int) Math.min(v.headBytes(), expectedSize))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            private boolean headChecked;
+            private long nanos;
+
+            @Override
+            public void update(ByteBuffer chunk, long pos) throws IOException {
+                if (headChecked) return;
+                long t0 = System.nanoTime();
+                ByteBuffer c = chunk.duplicate();
+                c.limit(c.position() + Math.min(c.remaining(), head.remaining()));
+                head.put(c);
+                if (!head.hasRemaining()) checkHead(expectedSize);
+                nanos += System.nanoTime() - t0;
+            }
+
+            @Override
+            public String finish(long size, FileChannel written) throws IOException {
+                long t0 = System.nanoTime();
+                String bad;
+                if (size != expectedSize) {
+                    // fichier modifié pendant la copie : contrôle complet sur la taille réelle
+                    bad = v.check(written, size);
+                } else {
+                    if (!headChecked) checkHead(size);
+                    bad = v.checkTail(written, size);
+                }
+                registry.record(v, bad, nanos + System.nanoTime() - t0);
+                return bad;
+            }
+
+            private void checkHead(long len) throws FusedCopier.RejectedException {
+                headChecked = true;
+                String bad = v.checkHead(head.flip(), len);
+                if (bad != null) {
+                    registry.record(v, bad, nanos);
+                    throw new FusedCopier.RejectedException(bad);
+                }
+            }
+        };
+    }
+
+    public static final class Hash implements StreamInspector {
+        private final MessageDigest md = ContentHasher.sha256();
+        private byte[] digest;
+
+        @Override
+        public void update(ByteBuffer chunk, long pos) {
+            md.update(chunk.duplicate());
+        }
+
+        @Override
+        public String finish(long size, FileChannel written) {
+            digest = md.digest();
+            return null;
+        }
+
+        // disponible après finish()
+        public byte[] digest() {
+            return digest;
+        }
+    }
+
+    public static final class Crc implements StreamInspector {
+        private final CRC32C crc = new CRC32C();
+
+        @Override
+        public void update(ByteBuffer chunk, long pos) {
+            crc.update(chunk.duplicate());
+        }
+
+        @Override
+        public String finish(long size, FileChannel written) {
+            return null;
+        }
+
+        public long value() {
+            return crc.getValue();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.pdfcollector;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedCopierTest {
+
+    @TempDir
+    Path tmp;
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void stop() {
+        pool.shutdownNow();
+    }
+
+    // limiteur fixe qui mesure la concurrence réelle et les octets rendus
+    private static final class Counting implements IoLimiter {
+        final FixedIoLimiter inner;
+        final AtomicInteger inUse = new AtomicInteger();
+        final AtomicInteger maxInUse = new AtomicInteger();
+        final AtomicInteger acquired = new AtomicInteger();
+        final AtomicLong bytes = new AtomicLong();
+
+        Counting(int limit) {
+            inner = new FixedIoLimiter(limit);
+        }
+
+        @Override
+        public void acquire() throws InterruptedException {
+            inner.acquire();
+            acquired.incrementAndGet();
+            maxInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+        }
+
+        @Override
+        public void release(long b, long nanos) {
+            bytes.addAndGet(b);
+            inUse.decrementAndGet();
+            inner.release(b, nanos);
+        }
+
+        @Override public int currentLimit() { return inner.currentLimit(); }
+
+        @Override public List<IoSample> curve() { return List.of(); }
+    }
+
+    private Path source(long size) throws Exception {
+        byte[] b = new byte[(int) size];
+        new Random(1).nextBytes(b);
+        Path p = tmp.resolve("big.bin");
+        Files.write(p, b);
+        return p;
+    }
+
+    @Test
+    void copieIdentiqueEtProgressionRendue() throws Exception {
+        long size = 2 * ChunkedCopier.CHUNK_SIZE + 12345;
+        Path src = source(size);
+        Path dst = tmp.resolve("big.bin.part");
+        DoubleAdder progress = new DoubleAdder();
+
+        new ChunkedCopier(pool, progress::add).copy(src, dst, size);
+
+        assertEquals(-1L, Files.mismatch(src, dst));
+        // la progression par plages est retirée une fois le fichier fini (relais "fichier entier")
+        assertEquals(0.0, progress.sum(), 1e-9);
+    }
+
+    @Test
+    void unPermisParPlageBorneParLaLimite() throws Exception {
+        long size = 3 * ChunkedCopier.CHUNK_SIZE + 1;
+        Path src = source(size);
+        Counting limiter = new Counting(2);
+
+        new ChunkedCopier(pool, f -> {}).copy(src, tmp.resolve("out.part"), size, limiter);
+
+        assertEquals(4, limiter.acquired.get());
+        assertTrue(limiter.maxInUse.get() <= 2, "plages simultanées : " + limiter.maxInUse.get());
+        assertEquals(0, limiter.inUse.get());
+        assertEquals(size, limiter.bytes.get());
+    }
+
+    @Test
+    void sourceAbsenteDestinationSupprimee() {
+        Path dst = tmp.resolve("x.part");
+        assertThrows(IOException.class,
+                () -> new ChunkedCopier(pool, f -> {}).copy(tmp.resolve("absent"), dst, 10, new Counting(1)));
+        assertFalse(Files.exists(dst));
+    }
+}
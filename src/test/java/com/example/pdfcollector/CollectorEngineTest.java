@@ -0,0 +1,93 @@
+package com.example.pdfcollector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CollectorEngineTest {
+
+    @TempDir
+    Path tmp;
+
+    private Path write(Path file, String content) throws Exception {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+        return file;
+    }
+
+    // run précédent interrompu : BEGIN sans DONE pour src -> dest
+    private void interrupted(Path dst, Path src, Path dest) throws Exception {
+        Files.createDirectories(dst);
+        try (JobJournal j = JobJournal.open(dst.resolve(JobJournal.FILE_NAME), false)) {
+            j.begin(src, dest);
+        }
+    }
+
+    private CollectorStats run(CollectorConfig cfg) throws Exception {
+        return new CollectorEngine().run(cfg, p -> {}, m -> {}, () -> false);
+    }
+
+    @Test
+    void repriseGardeLeNomDeLaCopieInterrompue() throws Exception {
+        Path src = tmp.resolve("src");
+        Path dst = tmp.resolve("dst");
+        // b/x.bin passe en premier et voudrait le nom de la copie interrompue de a/x.bin
+        Path first = write(src.resolve("b").resolve("x.bin"), "premier");
+        Path resumed = write(src.resolve("a").resolve("x.bin"), "repris!!!");
+        interrupted(dst, resumed, dst.resolve("x.bin"));
+        write(DurableWriter.tempFor(dst.resolve("x.bin")), "rep");
+        write(dst.resolve("film.mkv.part"), "navigateur");
+
+        CollectorStats s = run(CollectorConfig.builder(src, dst)
+                .extensions(Set.of("bin")).threads(1).maxIo(1).resume(true).build());
+
+        assertEquals(2, s.copiedOrMoved());
+        assertEquals("repris!!!", Files.readString(dst.resolve("x.bin")));
+        assertEquals("premier", Files.readString(dst.resolve("x (1).bin")));
+        assertFalse(Files.exists(DurableWriter.tempFor(dst.resolve("x.bin"))));
+        assertTrue(Files.exists(dst.resolve("film.mkv.part")));
+        assertTrue(Files.exists(first));
+    }
+
+    @Test
+    void repriseNomDejaPrisCopieRefaiteSousUnAutreNom() throws Exception {
+        Path src = tmp.resolve("src");
+        Path dst = tmp.resolve("dst");
+        Path resumed = write(src.resolve("x.bin"), "repris!!!");
+        interrupted(dst, resumed, dst.resolve("x.bin"));
+        // fichier présent sous ce nom (autre contenu) : jamais supprimé
+        write(dst.resolve("x.bin"), "utilisateur");
+
+        CollectorStats s = run(CollectorConfig.builder(src, dst)
+                .extensions(Set.of("bin")).resume(true).build());
+
+        assertEquals(1, s.copiedOrMoved());
+        assertEquals("utilisateur", Files.readString(dst.resolve("x.bin")));
+        assertEquals("repris!!!", Files.readString(dst.resolve("x (1).bin")));
+    }
+
+    @Test
+    void memeNomMemeTailleDansLeRunToujoursCopies() throws Exception {
+        Path src = tmp.resolve("src");
+        Path dst = tmp.resolve("dst");
+        for (String d : List.of("a", "b", "c", "d")) write(src.resolve(d).resolve("x.bin"), "même taille " + d);
+        write(dst.resolve("y.bin"), "même taille");
+        write(src.resolve("e").resolve("y.bin"), "même taille");
+
+        CollectorStats s = run(CollectorConfig.builder(src, dst)
+                .extensions(Set.of("bin")).threads(4).skipExisting(true).build());
+
+        // skip seulement contre y.bin présent avant le run, jamais contre une copie de ce run
+        assertEquals(4, s.copiedOrMoved());
+        assertEquals(1, s.skipped());
+        try (var files = Files.list(dst)) {
+            assertEquals(4, files.filter(p -> p.getFileName().toString().startsWith("x")).count());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.pdfcollector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentDeduplicatorTest {
+
+    @TempDir
+    Path tmp;
+
+    private final List<FileEntry> files = new ArrayList<>();
+
+    private FileEntry file(String name, byte[] content) throws Exception {
+        Path p = tmp.resolve(name);
+        Files.createDirectories(p.getParent());
+        Files.write(p, content);
+        FileEntry e = new FileEntry(p, content.length, 0L);
+        files.add(e);
+        return e;
+    }
+
+    private ContentDeduplicator.Result dedupe() throws Exception {
+        return new ContentDeduplicator(new ContentHasher(), 2).dedupe(files, () -> false);
+    }
+
+    private static Set<Path> paths(List<FileEntry> l) {
+        return l.stream().map(FileEntry::path).collect(Collectors.toSet());
+    }
+
+    @Test
+    void premierCheminGardeLesAutresRattachesALui() throws Exception {
+        FileEntry b = file("b/x.pdf", "même contenu".getBytes());
+        FileEntry a = file("a/x.pdf", "même contenu".getBytes());
+        FileEntry c = file("c/x.pdf", "même contenu".getBytes());
+
+        ContentDeduplicator.Result r = dedupe();
+
+        assertEquals(List.of(a), r.unique());
+        assertEquals(2, r.duplicates().size());
+        for (ContentDeduplicator.Duplicate d : r.duplicates()) assertEquals(a, d.original());
+        // ordre des chemins : b puis c, l'ordre de promotion si l'original échoue
+        assertEquals(List.of(b, c), r.duplicates().stream().map(ContentDeduplicator.Duplicate::file).toList());
+    }
+
+    @Test
+    void memeTailleContenuDifferentGarde() throws Exception {
+        file("a.pdf", "AAAA".getBytes());
+        file("b.pdf", "BBBB".getBytes());
+        file("c.pdf", "CCCCC".getBytes()); // taille unique : jamais lu
+
+        ContentDeduplicator.Result r = dedupe();
+
+        assertEquals(3, r.unique().size());
+        assertTrue(r.duplicates().isEmpty());
+        assertEquals(2, r.partialHashed());
+    }
+
+    @Test
+    void grosFichiersDifferentsAuMilieuSeulement() throws Exception {
+        int len = 3 * ContentHasher.PARTIAL_BLOCK;
+        byte[] x = new byte[len];
+        byte[] y = new byte[len];
+        y[len / 2] = 1; // début et fin identiques : seule l'empreinte complète les sépare
+        byte[] z = x.clone();
+        file("x.bin", x);
+        file("y.bin", y);
+        file("z.bin", z);
+
+        ContentDeduplicator.Result r = dedupe();
+
+        assertEquals(Set.of(tmp.resolve("x.bin"), tmp.resolve("y.bin")), paths(r.unique()));
+        assertEquals(1, r.duplicates().size());
+        assertEquals(3, r.fullHashed());
+    }
+
+    @Test
+    void fichiersVidesJamaisDedupliques() throws Exception {
+        file("vide1.pdf", new byte[0]);
+        file("vide2.pdf", new byte[0]);
+
+        ContentDeduplicator.Result r = dedupe();
+
+        assertEquals(2, r.unique().size());
+        assertTrue(r.duplicates().isEmpty());
+        assertEquals(0, r.partialHashed());
+    }
+
+    @Test
+    void copieDeLOriginalEnEchecDoublonCopieASaPlace() throws Exception {
+        Path src = tmp.resolve("src");
+        Path dst = tmp.resolve("dst");
+        for (String d : List.of("a", "b", "c")) {
+            Files.createDirectories(src.resolve(d));
+            Files.write(src.resolve(d).resolve("x.bin"), new byte[5000]);
+        }
+        // organisation "tree" : un fichier à la place des dossiers a/ et b/ fait échouer leur copie
+        Files.createDirectories(dst);
+        Files.write(dst.resolve("a"), new byte[1]);
+        Files.write(dst.resolve("b"), new byte[1]);
+
+        CollectorConfig cfg = CollectorConfig.builder(src, dst)
+                .extensions(Set.of("bin"))
+                .dedupContent(true)
+                .destLayout(DestLayout.TREE)
+                .build();
+        CollectorStats s = new CollectorEngine().run(cfg, p -> {}, m -> {}, () -> false);
+
+        assertEquals(1, s.copiedOrMoved());
+        assertEquals(2, s.failed());
+        assertEquals(0, s.duplicates());
+        assertTrue(Files.isRegularFile(dst.resolve("c").resolve("x.bin")));
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.pdfcollector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CopyStrategiesTest {
+
+    @TempDir
+    Path tmp;
+
+    private Path source(int size) throws Exception {
+        byte[] b = new byte[size];
+        new Random(size).nextBytes(b);
+        Path p = tmp.resolve("src-" + size);
+        Files.write(p, b);
+        return p;
+    }
+
+    @Test
+    void chaqueStrategieCopieALIdentique() throws Exception {
+        for (int size : new int[]{0, 1, 3 * 1024 * 1024 + 17}) {
+            Path src = source(size);
+            for (CopyStrategy s : CopyStrategies.ALL) {
+                Path dst = tmp.resolve(s.name() + "-" + size);
+                s.copy(src, dst, size);
+                assertEquals(-1L, Files.mismatch(src, dst), s.name() + " / " + size);
+            }
+        }
+    }
+
+    @Test
+    void destinationExistanteEcraseeEtTronquee() throws Exception {
+        Path src = source(10);
+        for (CopyStrategy s : CopyStrategies.ALL) {
+            Path dst = tmp.resolve("old-" + s.name());
+            Files.write(dst, new byte[1000]);
+            s.copy(src, dst, 10);
+            assertEquals(-1L, Files.mismatch(src, dst), s.name());
+        }
+    }
+
+    @Test
+    void byName() {
+        assertNull(CopyStrategies.byName("auto"));
+        assertSame(CopyStrategies.FILES, CopyStrategies.byName(null));
+        assertSame(CopyStrategies.TRANSFER, CopyStrategies.byName(" Transfer "));
+        assertSame(CopyStrategies.MAPPED, CopyStrategies.byName("mapped"));
+        assertThrows(IllegalArgumentException.class, () -> CopyStrategies.byName("rsync"));
+    }
+
+    @Test
+    void autoNeChoisitJamaisMapped() {
+        CopyMetrics m = new CopyMetrics(null, List.of());
+        for (long size : new long[]{10, 1L << 20, 1L << 30, 1L << 40}) {
+            for (int i = 0; i < 100; i++) {
+                CopyStrategy s = m.choose(size);
+                assertNotSame(CopyStrategies.MAPPED, s);
+                m.record(s, size, 1_000_000);
+            }
+        }
+    }
+
+    @Test
+    void candidatsFiltresParClasseDeTaille() {
+        CopyMetrics m = new CopyMetrics(null, List.of());
+        Set<CopyStrategy> small = new HashSet<>();
+        Set<CopyStrategy> medium = new HashSet<>();
+        Set<CopyStrategy> large = new HashSet<>();
+        for (int i = 0; i < 24; i++) {
+            small.add(m.choose(1000));
+            medium.add(m.choose(1L << 20));
+            large.add(m.choose(1L << 30));
+        }
+        assertEquals(Set.of(CopyStrategies.FILES, CopyStrategies.BUFFERED), small);
+        assertEquals(Set.of(CopyStrategies.FILES, CopyStrategies.TRANSFER, CopyStrategies.BUFFERED), medium);
+        assertEquals(Set.of(CopyStrategies.FILES, CopyStrategies.TRANSFER), large);
+    }
+
+    @Test
+    void strategieFixeToujoursRendue() {
+        CopyMetrics m = new CopyMetrics(CopyStrategies.MAPPED, List.of());
+        assertSame(CopyStrategies.MAPPED, m.choose(1L << 30));
+    }
+
+    @Test
+    void compteursParClasseDeTaille() {
+        CopyMetrics m = new CopyMetrics(null, List.of());
+        m.record(CopyStrategies.FILES, 1000, 1_000_000);
+        m.record(CopyStrategies.FILES, 1000, 1_000_000);
+        m.record(CopyStrategies.BUFFERED, 20L << 20, 1_000_000_000);
+
+        List<CopyStrategyStat> stats = m.snapshot();
+        assertEquals(2, stats.size());
+        assertEquals(new CopyStrategyStat("files", "<64KB", 2, 2000, stats.get(0).mbps()), stats.get(0));
+        assertEquals("<512MB", stats.get(1).sizeClass());
+        assertEquals(20.0, stats.get(1).mbps(), 1e-9);
+    }
+}
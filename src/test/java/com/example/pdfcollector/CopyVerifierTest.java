@@ -0,0 +1,103 @@
+package com.example.pdfcollector;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CopyVerifierTest {
+
+    @TempDir
+    Path tmp;
+
+    private final List<Path> broken = new CopyOnWriteArrayList<>();
+    private CopyVerifier verifier;
+
+    private CopyVerifier verifier(CopyVerifier.Recopier recopier) {
+        verifier = new CopyVerifier(2, m -> {}, recopier, (e, dst) -> broken.add(dst));
+        return verifier;
+    }
+
+    @AfterEach
+    void close() {
+        if (verifier != null) verifier.close();
+    }
+
+    private FileEntry entry(Path p) throws Exception {
+        return new FileEntry(p, Files.size(p), Files.getLastModifiedTime(p).toMillis());
+    }
+
+    private void verify(FileEntry e, Path dst) throws Exception {
+        verifier.submit(e, dst, null);
+        verifier.drain(() -> false);
+    }
+
+    @Test
+    void copieConforme() throws Exception {
+        Path src = Files.writeString(tmp.resolve("a.pdf"), "contenu");
+        Path dst = Files.writeString(tmp.resolve("b.pdf"), "contenu");
+        verifier((e, d) -> fail("pas de recopie"));
+
+        verify(entry(src), dst);
+        assertEquals(1, verifier.verified.get());
+        assertEquals(List.of(), broken);
+    }
+
+    @Test
+    void ecartRecopieEtRepare() throws Exception {
+        Path src = Files.writeString(tmp.resolve("a.pdf"), "contenu");
+        Path dst = Files.writeString(tmp.resolve("b.pdf"), "abimé!!");
+        verifier((e, d) -> Files.copy(e.path(), d, StandardCopyOption.REPLACE_EXISTING));
+
+        verify(entry(src), dst);
+        assertEquals(1, verifier.mismatches.get());
+        assertEquals(1, verifier.repaired.get());
+        assertEquals("contenu", Files.readString(dst));
+        assertEquals(List.of(), broken);
+    }
+
+    @Test
+    void sourceIllisibleCopieGardeeNonVerifiee() throws Exception {
+        Path src = Files.writeString(tmp.resolve("a.pdf"), "contenu");
+        Path dst = Files.writeString(tmp.resolve("b.pdf"), "contenu");
+        FileEntry e = entry(src);
+        // support retiré entre la copie et la relecture
+        Files.delete(src);
+        verifier((x, d) -> fail("pas de recopie"));
+
+        verify(e, dst);
+        assertEquals(1, verifier.unverified.get());
+        assertEquals(0, verifier.verified.get());
+        assertTrue(Files.exists(dst));
+        assertEquals(List.of(), broken);
+    }
+
+    @Test
+    void destinationIllisibleSupprimeeEtSignalee() throws Exception {
+        Path src = Files.writeString(tmp.resolve("a.pdf"), "contenu");
+        Path dst = tmp.resolve("absent.pdf");
+        verifier((x, d) -> fail("pas de recopie"));
+
+        verify(entry(src), dst);
+        assertEquals(List.of(dst), broken);
+        assertEquals(0, verifier.unverified.get());
+    }
+
+    @Test
+    void recopieToujoursFausseSupprimee() throws Exception {
+        Path src = Files.writeString(tmp.resolve("a.pdf"), "contenu");
+        Path dst = Files.writeString(tmp.resolve("b.pdf"), "abimé!!");
+        verifier((e, d) -> { });
+
+        verify(entry(src), dst);
+        assertEquals(List.of(dst), broken);
+        assertFalse(Files.exists(dst));
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.pdfcollector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DestLayoutTest {
+
+    @TempDir
+    Path tmp;
+
+    private Path src() {
+        return tmp.resolve("src");
+    }
+
+    private Path dst() {
+        return tmp.resolve("dst");
+    }
+
+    private static long millis(int y, int m, int d) {
+        return LocalDate.of(y, m, d).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @Test
+    void flatToutALaRacine() throws Exception {
+        DestLayout l = new DestLayout(DestLayout.FLAT, src(), dst());
+        assertEquals(dst().resolve("a.pdf"), l.resolve(new FileEntry(src().resolve("x/y/a.pdf"), 1, 0)));
+    }
+
+    @Test
+    void hashDeuxNiveauxInsensibleALaCasse() throws Exception {
+        DestLayout l = new DestLayout(DestLayout.HASH, src(), dst());
+        Path p = l.resolve(new FileEntry(src().resolve("Rapport.PDF"), 1, 0));
+        String h = DestLayout.hashPrefix("rapport.pdf");
+        assertEquals(dst().resolve(h.substring(0, 2)).resolve(h.substring(2, 4)).resolve("Rapport.PDF"), p);
+        assertTrue(Files.isDirectory(p.getParent()));
+        assertEquals(DestLayout.hashPrefix("RAPPORT.pdf"), h);
+    }
+
+    @Test
+    void dateAnneeMois() throws Exception {
+        DestLayout l = new DestLayout(DestLayout.DATE, src(), dst());
+        Path p = l.resolve(new FileEntry(src().resolve("a.pdf"), 1, millis(2021, 3, 15)));
+        assertEquals(dst().resolve("2021").resolve("03").resolve("a.pdf"), p);
+    }
+
+    @Test
+    void extEtSansExtension() throws Exception {
+        DestLayout l = new DestLayout(DestLayout.EXT, src(), dst());
+        assertEquals(dst().resolve("docx").resolve("a.docx"), l.resolve(new FileEntry(src().resolve("a.docx"), 1, 0)));
+        assertEquals(dst().resolve("_").resolve("LISEZMOI"), l.resolve(new FileEntry(src().resolve("LISEZMOI"), 1, 0)));
+    }
+
+    @Test
+    void treeConserveLArborescenceSource() throws Exception {
+        DestLayout l = new DestLayout(DestLayout.TREE, src(), dst());
+        assertEquals(dst().resolve("a").resolve("b").resolve("f.pdf"),
+                l.resolve(new FileEntry(src().resolve("a/b/f.pdf"), 1, 0)));
+        // hors de la source : racine de la destination
+        assertEquals(dst().resolve("g.pdf"), l.resolve(new FileEntry(tmp.resolve("ailleurs/g.pdf"), 1, 0)));
+    }
+
+    @Test
+    void dossierExistantQuandResolveRend() throws Exception {
+        // beaucoup de workers sur peu de dossiers : chacun doit pouvoir écrire dès le retour de resolve
+        DestLayout l = new DestLayout(DestLayout.HASH, src(), dst());
+        int threads = 16, perThread = 400;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int id = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        // noms partagés entre threads => mêmes dossiers demandés en même temps
+                        Path p = l.resolve(new FileEntry(src().resolve("f" + (i % 64) + ".pdf"), 1, 0));
+                        Files.write(p.resolveSibling(p.getFileName() + "." + id + "." + i), new byte[1]);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) f.get();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        try (var s = Files.walk(dst())) {
+            assertEquals(threads * perThread, s.filter(Files::isRegularFile).count());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.pdfcollector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DestNameIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void nomLibreRenduTelQuel() throws Exception {
+        DestNameIndex names = new DestNameIndex();
+        Path p = dir.resolve("a.pdf");
+        assertEquals(-1L, names.existingSize(p));
+        assertEquals(p, names.reserve(p));
+    }
+
+    @Test
+    void reservationDuRunPasVueCommeExistante() throws Exception {
+        Files.write(dir.resolve("a.pdf"), new byte[3]);
+        DestNameIndex names = new DestNameIndex();
+        Path b = names.reserve(dir.resolve("b.pdf"));
+
+        // seul le fichier présent avant le run peut justifier un skip
+        assertEquals(3L, names.existingSize(dir.resolve("a.pdf")));
+        assertEquals(-1L, names.existingSize(b));
+        assertEquals(dir.resolve("b (1).pdf"), names.reserve(dir.resolve("b.pdf")));
+    }
+
+    @Test
+    void collisionsSuffixeesDansLOrdre() throws Exception {
+        Files.write(dir.resolve("a.pdf"), new byte[3]);
+        DestNameIndex names = new DestNameIndex();
+
+        assertEquals(3L, names.existingSize(dir.resolve("a.pdf")));
+        assertEquals(dir.resolve("a (1).pdf"), names.reserve(dir.resolve("a.pdf")));
+        assertEquals(dir.resolve("a (2).pdf"), names.reserve(dir.resolve("a.pdf")));
+    }
+
+    @Test
+    void suffixeSautUnNomDejaPresent() throws Exception {
+        Files.write(dir.resolve("a.pdf"), new byte[1]);
+        Files.write(dir.resolve("a (1).pdf"), new byte[1]);
+        DestNameIndex names = new DestNameIndex();
+
+        assertEquals(dir.resolve("a (2).pdf"), names.reserve(dir.resolve("a.pdf")));
+    }
+
+    @Test
+    void nomSansExtension() throws Exception {
+        DestNameIndex names = new DestNameIndex();
+        names.reserve(dir.resolve("LISEZMOI"));
+        assertEquals(dir.resolve("LISEZMOI (1)"), names.reserve(dir.resolve("LISEZMOI")));
+    }
+
+    @Test
+    void nomRelacheReutilisable() throws Exception {
+        DestNameIndex names = new DestNameIndex();
+        Path p = names.reserve(dir.resolve("a.pdf"));
+        names.release(p);
+        assertEquals(-1L, names.existingSize(p));
+        assertEquals(p, names.reserve(dir.resolve("a.pdf")));
+    }
+
+    @Test
+    void reservationsConcurrentesToutesDistinctes() throws Exception {
+        DestNameIndex names = new DestNameIndex();
+        Set<Path> got = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 500).parallel().forEach(i -> {
+            try {
+                got.add(names.reserve(dir.resolve("same.pdf")));
+            } catch (Exception ex) {
+                throw new AssertionError(ex);
+            }
+        });
+        assertEquals(500, got.size());
+        assertTrue(got.contains(dir.resolve("same.pdf")));
+        assertTrue(got.contains(dir.resolve("same (499).pdf")));
+    }
+
+    @Test
+    void temporairesOrphelinsSupprimesAuPremierListing() throws Exception {
+        Path orphan = DurableWriter.tempFor(dir.resolve("a.pdf"));
+        Files.write(orphan, new byte[4]);
+        Files.write(dir.resolve("b.pdf"), new byte[4]);
+        DestNameIndex names = new DestNameIndex(Set.of(orphan.toAbsolutePath().normalize()));
+
+        assertEquals(dir.resolve("c.pdf"), names.reserve(dir.resolve("c.pdf")));
+        assertFalse(Files.exists(orphan));
+        assertTrue(Files.exists(dir.resolve("b.pdf")));
+        assertEquals(1, names.stalePartsRemoved());
+
+        // écrit après le listing (copie du run en cours) : jamais touché
+        Path current = DurableWriter.tempFor(dir.resolve("c.pdf"));
+        Files.write(current, new byte[4]);
+        names.reserve(dir.resolve("d.pdf"));
+        assertTrue(Files.exists(current));
+        assertEquals(1, names.stalePartsRemoved());
+    }
+
+    @Test
+    void partsEtrangersJamaisSupprimes() throws Exception {
+        // ".part" d'un navigateur / archive découpée, et temporaire du moteur absent du journal
+        Files.write(dir.resolve("film.mkv.part"), new byte[4]);
+        Path unknown = DurableWriter.tempFor(dir.resolve("x.pdf"));
+        Files.write(unknown, new byte[4]);
+        Path listed = DurableWriter.tempFor(dir.resolve("y.pdf"));
+        DestNameIndex names = new DestNameIndex(Set.of(
+                dir.resolve("film.mkv.part").toAbsolutePath().normalize(), listed.toAbsolutePath().normalize()));
+
+        names.reserve(dir.resolve("z.pdf"));
+        assertTrue(Files.exists(dir.resolve("film.mkv.part")));
+        assertTrue(Files.exists(unknown));
+        assertEquals(0, names.stalePartsRemoved());
+    }
+
+    @Test
+    void dossiersIndependants() throws Exception {
+        Path sub = Files.createDirectories(dir.resolve("sub"));
+        DestNameIndex names = new DestNameIndex();
+        Set<Path> got = new HashSet<>(List.of(
+                names.reserve(dir.resolve("x.pdf")),
+                names.reserve(sub.resolve("x.pdf"))));
+        assertEquals(Set.of(dir.resolve("x.pdf"), sub.resolve("x.pdf")), got);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.pdfcollector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DurableWriterTest {
+
+    @TempDir
+    Path tmp;
+
+    private Path part(String name, String content) throws Exception {
+        Path dst = tmp.resolve(name);
+        Path part = DurableWriter.tempFor(dst);
+        Files.writeString(part, content);
+        return part;
+    }
+
+    @Test
+    void tempForEtIsTemp() {
+        Path p = DurableWriter.tempFor(tmp.resolve("a.pdf"));
+        assertEquals(".pdfcollector-a.pdf.part", p.getFileName().toString());
+        assertTrue(DurableWriter.isTemp(p.getFileName().toString()));
+        assertFalse(DurableWriter.isTemp("a.pdf"));
+        // ".part" d'un autre programme : pas à nous
+        assertFalse(DurableWriter.isTemp("a.pdf.part"));
+        assertFalse(DurableWriter.isTemp("film.zip.001.part"));
+    }
+
+    @Test
+    void noneEtFilePublientToutDeSuite() throws Exception {
+        for (String mode : new String[]{DurableWriter.NONE, DurableWriter.FILE}) {
+            try (DurableWriter w = new DurableWriter(mode)) {
+                Path dst = tmp.resolve(mode + ".pdf");
+                Path part = part(mode + ".pdf", "x");
+                assertTrue(w.commit(part, dst, () -> fail("callback inattendu"), ex -> fail(ex)));
+                assertEquals("x", Files.readString(dst));
+                assertFalse(Files.exists(part));
+            }
+        }
+    }
+
+    @Test
+    void fileForceChaqueFichier() throws Exception {
+        try (DurableWriter w = new DurableWriter(DurableWriter.FILE)) {
+            w.commit(part("a.pdf", "a"), tmp.resolve("a.pdf"), () -> { }, ex -> { });
+            assertTrue(w.fsyncs.sum() >= 1);
+        }
+    }
+
+    @Test
+    void groupPublieAuFlushAvecCallbacks() throws Exception {
+        AtomicInteger committed = new AtomicInteger();
+        List<IOException> failures = new ArrayList<>();
+        try (DurableWriter w = new DurableWriter(DurableWriter.GROUP)) {
+            for (int i = 0; i < 3; i++) {
+                String name = "g" + i + ".pdf";
+                assertFalse(w.commit(part(name, "c" + i), tmp.resolve(name), committed::incrementAndGet, failures::add));
+            }
+            w.flush();
+            assertEquals(3, committed.get());
+            for (int i = 0; i < 3; i++) assertEquals("c" + i, Files.readString(tmp.resolve("g" + i + ".pdf")));
+            assertTrue(w.groups.sum() >= 1);
+        }
+        assertTrue(failures.isEmpty());
+    }
+
+    @Test
+    void groupEchecSignaleSansPublier() throws Exception {
+        AtomicInteger committed = new AtomicInteger();
+        List<IOException> failures = new ArrayList<>();
+        try (DurableWriter w = new DurableWriter(DurableWriter.GROUP)) {
+            Path part = part("x.pdf", "x");
+            w.commit(part, tmp.resolve("x.pdf"), committed::incrementAndGet, failures::add);
+            Files.delete(part); // .part disparu avant le flush : fsync impossible
+            w.flush();
+        }
+        assertEquals(0, committed.get());
+        assertEquals(1, failures.size());
+        assertFalse(Files.exists(tmp.resolve("x.pdf")));
+    }
+
+    @Test
+    void closePublieLeLotRestant() throws Exception {
+        AtomicInteger committed = new AtomicInteger();
+        DurableWriter w = new DurableWriter(DurableWriter.GROUP);
+        w.commit(part("c.pdf", "c"), tmp.resolve("c.pdf"), committed::incrementAndGet, ex -> { });
+        w.close();
+        assertEquals(1, committed.get());
+        assertTrue(Files.exists(tmp.resolve("c.pdf")));
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.pdfcollector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalSorterTest {
+
+    @TempDir
+    Path tmp;
+
+    private static List<FileEntry> merged(ExternalSorter sorter) throws Exception {
+        List<FileEntry> out = new ArrayList<>();
+        try (ExternalSorter.Merge m = sorter.merge()) {
+            while (m.hasNext()) out.add(m.next());
+        }
+        return out;
+    }
+
+    // même résultat qu'une FileTable triée en mémoire
+    private static List<FileEntry> inMemory(List<FileEntry> entries) {
+        FileTable t = FileTable.copyOf(entries);
+        t.sortByDate();
+        return new ArrayList<>(t);
+    }
+
+    @Test
+    void fusionDeRunsIdentiqueAuTriEnMemoire() throws Exception {
+        Random rnd = new Random(7);
+        // chemins uniques : deux entrées de même clé (date, chemin) n'ont pas d'ordre défini entre runs
+        List<FileEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            entries.add(new FileEntry(tmp.resolve("d" + rnd.nextInt(30)).resolve("f" + rnd.nextInt(2000) + "_" + i + ".pdf"),
+                    rnd.nextInt(1 << 20), rnd.nextInt(100)));
+        }
+
+        try (ExternalSorter sorter = new ExternalSorter(tmp, 777)) {
+            entries.forEach(sorter::add);
+            assertEquals(entries.size(), sorter.size());
+            assertEquals(entries.size() / 777, sorter.runCount());
+            assertEquals(inMemory(entries), merged(sorter));
+        }
+    }
+
+    @Test
+    void egalitesSurNomsHorsBmpDansLOrdreDesRuns() throws Exception {
+        // même date et même dossier : seul le nom départage, en points de code comme FileTable
+        List<String> names = List.of("😀.pdf", ".pdf", "a.pdf", "é.pdf", "😁.pdf", "Z.pdf");
+        List<FileEntry> entries = new ArrayList<>();
+        for (String n : names) entries.add(new FileEntry(tmp.resolve("d").resolve(n), 1, 1000));
+
+        try (ExternalSorter sorter = new ExternalSorter(tmp, 1)) {
+            entries.forEach(sorter::add);
+            assertEquals(inMemory(entries), merged(sorter));
+        }
+    }
+
+    @Test
+    void ajoutsConcurrentsSansPerte() throws Exception {
+        try (ExternalSorter sorter = new ExternalSorter(tmp, 100)) {
+            IntStream.range(0, 8000).parallel()
+                    .forEach(i -> sorter.add(new FileEntry(tmp.resolve("p" + (i % 13)).resolve("f" + i), i, i % 97)));
+
+            List<FileEntry> out = merged(sorter);
+            assertEquals(8000, out.size());
+            for (int i = 1; i < out.size(); i++) {
+                assertTrue(ExternalSorter.ORDER.compare(out.get(i - 1), out.get(i)) <= 0);
+            }
+        }
+    }
+
+    @Test
+    void sansDeversementNiEntree() throws Exception {
+        try (ExternalSorter sorter = new ExternalSorter(tmp, 10)) {
+            assertEquals(List.of(), merged(sorter));
+            assertEquals(0, sorter.runCount());
+        }
+    }
+
+    @Test
+    void closeSupprimeLeDossierDeTravail() throws Exception {
+        ExternalSorter sorter = new ExternalSorter(tmp, 2);
+        for (int i = 0; i < 5; i++) sorter.add(new FileEntry(tmp.resolve("f" + i), i, i));
+        merged(sorter);
+        sorter.close();
+        try (var s = Files.list(tmp)) {
+            assertEquals(0, s.count());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.pdfcollector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class FileScannerTest {
+
+    @TempDir
+    Path tmp;
+
+    private static List<Path> walk(FileScanner scanner) throws IOException {
+        List<Path> found = new ArrayList<>();
+        scanner.walk(() -> false, e -> found.add(e.path()));
+        return found;
+    }
+
+    private Path source() throws IOException {
+        Path src = tmp.resolve("src");
+        Files.createDirectories(src.resolve("sub"));
+        Files.write(src.resolve("a.pdf"), new byte[3]);
+        Files.write(src.resolve("sub").resolve("b.pdf"), new byte[4]);
+        return src;
+    }
+
+    @Test
+    void incrementalDossierInchangeNonRelu() throws Exception {
+        Path src = source();
+        ScanIndex first = new ScanIndex(src, Set.of("pdf"));
+        assertEquals(2, walk(new FileScanner(src, tmp.resolve("dst"), Set.of("pdf"), 1, null, first)).size());
+        first.outcome(src.resolve("a.pdf"), ScanIndex.COPIED);
+        first.outcome(src.resolve("sub").resolve("b.pdf"), ScanIndex.COPIED);
+
+        ScanIndex second = new ScanIndex(src, Set.of("pdf"));
+        assertEquals(List.of(), walk(new FileScanner(src, tmp.resolve("dst"), Set.of("pdf"), 1, first, second)));
+    }
+
+    @Test
+    void listingEnEchecReluAuRunSuivant() throws Exception {
+        Path src = source();
+        Path sub = src.resolve("sub");
+        ScanIndex first = new ScanIndex(src, Set.of("pdf"));
+        FileScanner failing = new FileScanner(src, tmp.resolve("dst"), Set.of("pdf"), 1, null, first) {
+            @Override
+            DirectoryStream<Path> list(Path dir) throws IOException {
+                if (dir.equals(sub)) throw new AccessDeniedException(dir.toString());
+                return super.list(dir);
+            }
+        };
+        assertEquals(List.of(src.resolve("a.pdf")), walk(failing));
+        assertEquals(ScanIndex.UNREAD, first.dir(sub).mtime);
+
+        // dossier de nouveau lisible, mtime inchangée : il est relu quand même
+        ScanIndex second = new ScanIndex(src, Set.of("pdf"));
+        List<Path> found = walk(new FileScanner(src, tmp.resolve("dst"), Set.of("pdf"), 1, first, second));
+        assertTrue(found.contains(sub.resolve("b.pdf")));
+        assertNotEquals(ScanIndex.UNREAD, second.dir(sub).mtime);
+    }
+
+    @Test
+    void dossierSansDroitDeLecture() throws Exception {
+        Path src = source();
+        Path sub = src.resolve("sub");
+        assumeTrue(Files.getFileStore(sub).supportsFileAttributeView("posix"));
+        Files.setPosixFilePermissions(sub, PosixFilePermissions.fromString("-wx------"));
+        try {
+            // root lit tout : pas de dossier illisible possible
+            assumeFalse(Files.isReadable(sub));
+            ScanIndex first = new ScanIndex(src, Set.of("pdf"));
+            walk(new FileScanner(src, tmp.resolve("dst"), Set.of("pdf"), 1, null, first));
+            assertEquals(ScanIndex.UNREAD, first.dir(sub).mtime);
+        } finally {
+            Files.setPosixFilePermissions(sub, PosixFilePermissions.fromString("rwx------"));
+        }
+    }
+}
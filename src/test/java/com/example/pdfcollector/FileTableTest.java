@@ -0,0 +1,111 @@
+package com.example.pdfcollector;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileTableTest {
+
+    private static FileEntry entry(String path, long size, long mtime) {
+        return new FileEntry(Path.of(path), size, mtime);
+    }
+
+    @Test
+    void getRendLesEntreesDansLOrdreDAjout() {
+        FileTable t = new FileTable();
+        t.add(entry("/a/x.pdf", 10, 3));
+        t.add(entry("/b/y.pdf", 20, 1));
+        t.add(entry("z.pdf", 30, 2)); // sans dossier parent
+
+        assertEquals(3, t.size());
+        assertEquals(entry("/a/x.pdf", 10, 3), t.get(0));
+        assertEquals(entry("/b/y.pdf", 20, 1), t.get(1));
+        assertEquals(entry("z.pdf", 30, 2), t.get(2));
+        assertEquals(3, t.dirCount());
+    }
+
+    @Test
+    void sortByDateDepartageParDossierPuisNom() {
+        FileTable t = new FileTable();
+        t.add(entry("/b/a.pdf", 1, 5));
+        t.add(entry("/a/b.pdf", 1, 5));
+        t.add(entry("/a/a.pdf", 1, 5));
+        t.add(entry("/c/z.pdf", 1, 1));
+
+        t.sortByDate();
+
+        assertEquals(List.of(
+                entry("/c/z.pdf", 1, 1),
+                entry("/a/a.pdf", 1, 5),
+                entry("/a/b.pdf", 1, 5),
+                entry("/b/a.pdf", 1, 5)), new ArrayList<>(t));
+    }
+
+    @Test
+    void sortBySizeDescPlusGrosDAbordMemeDepartage() {
+        FileTable t = new FileTable();
+        t.add(entry("/d/b.pdf", 10, 0));
+        t.add(entry("/d/a.pdf", 10, 0));
+        t.add(entry("/d/c.pdf", 99, 0));
+
+        t.sortBySizeDesc();
+
+        assertEquals(List.of(
+                entry("/d/c.pdf", 99, 0),
+                entry("/d/a.pdf", 10, 0),
+                entry("/d/b.pdf", 10, 0)), new ArrayList<>(t));
+    }
+
+    @Test
+    void nomsComparesEnPointsDeCodeEtNonEnUtf16() {
+        // U+1F600 (hors BMP, paire de substitution D83D..) et U+E000 : String.compareTo les inverse
+        String emoji = "😀.pdf";
+        String privateUse = ".pdf";
+        assertTrue(emoji.compareTo(privateUse) < 0);
+
+        FileTable t = new FileTable();
+        t.add(entry("/d/" + emoji, 1, 0));
+        t.add(entry("/d/" + privateUse, 1, 0));
+        t.sortByDate();
+
+        assertEquals(privateUse, t.get(0).path().getFileName().toString());
+        assertEquals(emoji, t.get(1).path().getFileName().toString());
+        assertTrue(FileTable.compareNames(privateUse, emoji) < 0);
+    }
+
+    @Test
+    void compareNamesPrefixeAvantNomPlusLong() {
+        assertTrue(FileTable.compareNames("a", "ab") < 0);
+        assertTrue(FileTable.compareNames("ab", "a") > 0);
+        assertEquals(0, FileTable.compareNames("é", "é"));
+    }
+
+    @Test
+    void triIdentiqueAUnTriDeReference() {
+        Random rnd = new Random(42);
+        List<FileEntry> all = new ArrayList<>();
+        FileTable t = new FileTable();
+        for (int i = 0; i < 5000; i++) {
+            FileEntry e = entry("/r/d" + rnd.nextInt(20) + "/f" + rnd.nextInt(1000) + ".pdf", rnd.nextInt(100), rnd.nextInt(50));
+            all.add(e);
+            t.add(e);
+        }
+        t.trimToSize();
+        t.sortByDate();
+
+        all.sort(ExternalSorter.ORDER);
+        assertEquals(all, new ArrayList<>(t));
+        assertTrue(isSorted(new ArrayList<>(t), ExternalSorter.ORDER));
+    }
+
+    private static boolean isSorted(List<FileEntry> l, Comparator<FileEntry> c) {
+        for (int i = 1; i < l.size(); i++) if (c.compare(l.get(i - 1), l.get(i)) > 0) return false;
+        return true;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.pdfcollector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormatValidatorsTest {
+
+    @TempDir
+    Path dir;
+
+    private final FormatValidators fast = new FormatValidators(false);
+    private final FormatValidators structure = new FormatValidators(true);
+
+    private Path file(String name, byte[] content) throws Exception {
+        Path p = dir.resolve(name);
+        Files.write(p, content);
+        return p;
+    }
+
+    private static byte[] zip() throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ZipOutputStream z = new ZipOutputStream(bos)) {
+            z.putNextEntry(new ZipEntry("a.txt"));
+            z.write("bonjour".getBytes(StandardCharsets.UTF_8));
+            z.closeEntry();
+        }
+        return bos.toByteArray();
+    }
+
+    private static byte[] ole2(int sectorShift) {
+        ByteBuffer b = ByteBuffer.allocate(512).order(ByteOrder.LITTLE_ENDIAN);
+        b.put(new byte[]{(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1});
+        b.putShort(30, (short) sectorShift);
+        return b.array();
+    }
+
+    private static byte[] png() {
+        byte[] sig = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+        byte[] iend = {0, 0, 0, 0, 'I', 'E', 'N', 'D', (byte) 0xAE, 0x42, 0x60, (byte) 0x82};
+        byte[] out = new byte[sig.length + 16 + iend.length];
+        System.arraycopy(sig, 0, out, 0, sig.length);
+        System.arraycopy(iend, 0, out, out.length - iend.length, iend.length);
+        return out;
+    }
+
+    private static byte[] jpeg(int padding) {
+        byte[] out = new byte[4 + 32 + 2 + padding];
+        out[0] = (byte) 0xFF; out[1] = (byte) 0xD8; out[2] = (byte) 0xFF; out[3] = (byte) 0xE0;
+        out[36] = (byte) 0xFF; out[37] = (byte) 0xD9;
+        return out;
+    }
+
+    @Test
+    void pdfEnTeteSeulEnModeRapide() throws Exception {
+        Path p = file("a.pdf", "%PDF-1.7 tronqué".getBytes(StandardCharsets.ISO_8859_1));
+        assertNull(fast.check(p));
+        assertNotNull(structure.check(p));
+        assertNotNull(fast.check(file("b.pdf", "<html>".getBytes(StandardCharsets.ISO_8859_1))));
+    }
+
+    @Test
+    void pdfStructureComplete() throws Exception {
+        assertNull(structure.check(file("a.pdf", PdfTailValidatorTest.validPdf())));
+    }
+
+    @Test
+    void zipEtOfficeOpenXml() throws Exception {
+        byte[] z = zip();
+        assertNull(fast.check(file("a.zip", z)));
+        assertNull(fast.check(file("a.docx", z)));
+        assertNotNull(fast.check(file("t.zip", Arrays.copyOf(z, z.length - 5))));
+        assertEquals("signature PK absente", fast.check(file("x.xlsx", new byte[64])));
+        assertEquals("archive trop courte", fast.check(file("c.zip", new byte[]{'P', 'K'})));
+    }
+
+    @Test
+    void zipAvecCommentaire() throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ZipOutputStream z = new ZipOutputStream(bos)) {
+            z.setComment("commentaire d'archive");
+            z.putNextEntry(new ZipEntry("a.txt"));
+            z.closeEntry();
+        }
+        assertNull(fast.check(file("c.zip", bos.toByteArray())));
+    }
+
+    @Test
+    void ole2EnTeteEtSecteurs() throws Exception {
+        assertNull(fast.check(file("a.doc", ole2(9))));
+        assertNull(fast.check(file("a.xls", ole2(12))));
+        assertEquals("taille de secteur OLE2 invalide", fast.check(file("b.ppt", ole2(7))));
+        assertEquals("fichier trop court", fast.check(file("c.doc", Arrays.copyOf(ole2(9), 100))));
+        assertEquals("en-tête OLE2 absent", fast.check(file("d.xls", new byte[512])));
+    }
+
+    @Test
+    void pngSignatureEtIend() throws Exception {
+        byte[] ok = png();
+        assertNull(fast.check(file("a.png", ok)));
+        assertEquals("chunk IEND absent : fichier tronqué ?", fast.check(file("b.png", Arrays.copyOf(ok, ok.length - 1))));
+        byte[] bad = ok.clone();
+        bad[1] = 'X';
+        assertEquals("signature PNG absente", fast.check(file("c.png", bad)));
+    }
+
+    @Test
+    void jpegAvecEtSansBourrage() throws Exception {
+        assertNull(fast.check(file("a.jpg", jpeg(0))));
+        assertNull(fast.check(file("b.jpeg", jpeg(20))));
+        assertEquals("marqueur EOI absent : fichier tronqué ?", fast.check(file("c.jpg", Arrays.copyOf(jpeg(0), 30))));
+        assertEquals("marqueur SOI absent", fast.check(file("d.jpg", new byte[40])));
+    }
+
+    @Test
+    void extensionSansValidateurAcceptee() throws Exception {
+        assertNull(fast.check(file("notes.txt", new byte[]{1, 2, 3})));
+        assertNull(fast.forExtension("csv"));
+    }
+
+    @Test
+    void coutCompteParFormat() throws Exception {
+        fast.check(file("a.png", png()));
+        fast.check(file("b.png", new byte[40]));
+        FormatStat s = fast.snapshot().get(0);
+        assertEquals("png", s.format());
+        assertEquals(2, s.files());
+        assertEquals(1, s.rejected());
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.pdfcollector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FusedCopierTest {
+
+    @TempDir
+    Path tmp;
+
+    private final FormatValidators validators = new FormatValidators(true);
+
+    // compte les blocs vus, placé avant le validateur
+    private static final class Counter implements StreamInspector {
+        long bytes;
+
+        @Override
+        public void update(ByteBuffer chunk, long pos) {
+            bytes += chunk.remaining();
+        }
+
+        @Override
+        public String finish(long size, FileChannel written) {
+            return null;
+        }
+    }
+
+    private Path file(String name, byte[] content) throws IOException {
+        return Files.write(tmp.resolve(name), content);
+    }
+
+    // plusieurs blocs de FusedCopier
+    private static byte[] big(byte[] head) {
+        byte[] b = new byte[5 * 1024 * 1024];
+        System.arraycopy(head, 0, b, 0, head.length);
+        return b;
+    }
+
+    @Test
+    void enTeteInvalideArreteLaCopieAuPremierBloc() throws Exception {
+        Path src = file("a.pdf", big("<html".getBytes()));
+        Path dst = tmp.resolve("a.pdf.part");
+        Counter seen = new Counter();
+        StreamInspector format = StreamInspectors.format(validators.forExtension("pdf"), validators, Files.size(src));
+
+        FusedCopier.RejectedException ex = assertThrows(FusedCopier.RejectedException.class,
+                () -> new FusedCopier().copy(src, dst, List.of(seen, format)));
+        assertEquals("en-tête %PDF absent", ex.getMessage());
+        assertTrue(seen.bytes < Files.size(src));
+        assertFalse(Files.exists(dst));
+        assertEquals(1, validators.snapshot().get(0).rejected());
+    }
+
+    @Test
+    void finDeFichierJugeeSurLaCopie() throws Exception {
+        byte[] ok = PdfTailValidatorTest.validPdf();
+        Path good = file("a.pdf", ok);
+        Path bad = file("b.pdf", Arrays.copyOf(ok, ok.length - 8));
+        FormatValidator v = validators.forExtension("pdf");
+
+        new FusedCopier().copy(good, tmp.resolve("a.part"), List.of(StreamInspectors.format(v, validators, ok.length)));
+        assertArrayEquals(ok, Files.readAllBytes(tmp.resolve("a.part")));
+
+        assertThrows(FusedCopier.RejectedException.class, () -> new FusedCopier().copy(bad, tmp.resolve("b.part"),
+                List.of(StreamInspectors.format(v, validators, ok.length - 8))));
+        assertFalse(Files.exists(tmp.resolve("b.part")));
+    }
+
+    @Test
+    void fichierPlusCourtQueLEnTete() throws Exception {
+        Path src = file("c.png", new byte[]{(byte) 0x89, 'P'});
+        FormatValidator v = validators.forExtension("png");
+        FusedCopier.RejectedException ex = assertThrows(FusedCopier.RejectedException.class,
+                () -> new FusedCopier().copy(src, tmp.resolve("c.part"), List.of(StreamInspectors.format(v, validators, 2))));
+        assertEquals("fichier trop court", ex.getMessage());
+    }
+}
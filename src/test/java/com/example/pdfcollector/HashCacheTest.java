@@ -0,0 +1,96 @@
+package com.example.pdfcollector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashCacheTest {
+
+    @TempDir
+    Path tmp;
+
+    private static final byte[] H1 = {1, 2, 3};
+    private static final byte[] H2 = {4, 5, 6, 7};
+
+    @Test
+    void trouveSeulementSiTailleEtDateInchangees() {
+        HashCache c = new HashCache(10);
+        FileEntry e = new FileEntry(tmp.resolve("a.pdf"), 10, 100);
+        c.putPartial(e, H1);
+
+        assertArrayEquals(H1, c.partial(e));
+        assertNull(c.full(e));
+        assertNull(c.partial(new FileEntry(e.path(), 11, 100)));
+        assertNull(c.partial(new FileEntry(e.path(), 10, 101)));
+        assertEquals(1, c.hits());
+        assertEquals(3, c.misses());
+    }
+
+    @Test
+    void fichierModifieRemplaceLAncienneEntree() {
+        HashCache c = new HashCache(10);
+        FileEntry before = new FileEntry(tmp.resolve("a.pdf"), 10, 100);
+        FileEntry after = new FileEntry(tmp.resolve("a.pdf"), 10, 200);
+        c.putPartial(before, H1);
+        c.putFull(before, H2);
+        c.putPartial(after, H2);
+
+        assertArrayEquals(H2, c.partial(after));
+        assertNull(c.full(after));
+        assertEquals(1, c.size());
+    }
+
+    @Test
+    void moinsRecemmentUtiliseEvince() {
+        HashCache c = new HashCache(2);
+        FileEntry a = new FileEntry(tmp.resolve("a"), 1, 1);
+        FileEntry b = new FileEntry(tmp.resolve("b"), 1, 1);
+        FileEntry d = new FileEntry(tmp.resolve("d"), 1, 1);
+        c.putPartial(a, H1);
+        c.putPartial(b, H1);
+        c.partial(a); // a redevient le plus récent
+        c.putPartial(d, H1);
+
+        assertNotNull(c.partial(a));
+        assertNull(c.partial(b));
+        assertNotNull(c.partial(d));
+    }
+
+    @Test
+    void sauvegardePuisRelecture() throws Exception {
+        Path file = tmp.resolve(HashCache.FILE_NAME);
+        HashCache c = new HashCache(10);
+        FileEntry a = new FileEntry(tmp.resolve("é.pdf"), 5, 50);
+        FileEntry b = new FileEntry(tmp.resolve("b.pdf"), 6, 60);
+        c.putPartial(a, H1);
+        c.putFull(a, H2);
+        c.putPartial(b, H2);
+        c.save(file);
+
+        HashCache back = HashCache.load(file, 10);
+        assertEquals(2, back.size());
+        assertArrayEquals(H1, back.partial(a));
+        assertArrayEquals(H2, back.full(a));
+        assertArrayEquals(H2, back.partial(b));
+        assertNull(back.full(b));
+    }
+
+    @Test
+    void fichierIllisibleCacheVide() throws Exception {
+        Path file = tmp.resolve(HashCache.FILE_NAME);
+        Files.write(file, new byte[]{9, 9, 9});
+        assertEquals(0, HashCache.load(file, 10).size());
+        assertEquals(0, HashCache.load(tmp.resolve("absent"), 10).size());
+    }
+
+    @Test
+    void rienAEcrireSansAjout() throws Exception {
+        Path file = tmp.resolve(HashCache.FILE_NAME);
+        new HashCache(10).save(file);
+        assertFalse(Files.exists(file));
+    }
+}
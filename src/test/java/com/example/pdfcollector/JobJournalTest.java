@@ -0,0 +1,104 @@
+package com.example.pdfcollector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobJournalTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void beginSansDoneEnAttenteDoneTermine() throws Exception {
+        Path file = tmp.resolve(JobJournal.FILE_NAME);
+        Path a = tmp.resolve("src/a.pdf"), b = tmp.resolve("src/b.pdf");
+        Path da = tmp.resolve("dst/a.pdf"), db = tmp.resolve("dst/b (1).pdf");
+
+        try (JobJournal j = JobJournal.open(file, false)) {
+            j.begin(a, da);
+            j.done(a, da, 42, 1234);
+            j.begin(b, db);
+        }
+
+        JobJournal.Replay r = JobJournal.replay(file);
+        assertEquals(1, r.doneCount());
+        assertEquals(1, r.pendingCount());
+        assertEquals(new JobJournal.Done(da.toString(), 42, 1234), r.done(a));
+        assertNull(r.pending(a));
+        assertEquals(db.toString(), r.pending(b));
+        assertNull(r.done(b));
+    }
+
+    @Test
+    void undoneAnnuleLeDone() throws Exception {
+        Path file = tmp.resolve(JobJournal.FILE_NAME);
+        Path a = tmp.resolve("src/a.pdf"), da = tmp.resolve("dst/a.pdf");
+        try (JobJournal j = JobJournal.open(file, false)) {
+            j.begin(a, da);
+            j.done(a, da, 1, 1);
+            j.undone(a, da);
+        }
+        JobJournal.Replay r = JobJournal.replay(file);
+        assertNull(r.done(a));
+        assertEquals(0, r.doneCount());
+    }
+
+    @Test
+    void repriseAjouteRunNeufRecommence() throws Exception {
+        Path file = tmp.resolve(JobJournal.FILE_NAME);
+        Path a = tmp.resolve("a.pdf"), b = tmp.resolve("b.pdf");
+        try (JobJournal j = JobJournal.open(file, false)) {
+            j.done(a, a, 1, 1);
+        }
+        try (JobJournal j = JobJournal.open(file, true)) {
+            j.done(b, b, 2, 2);
+        }
+        assertEquals(2, JobJournal.replay(file).doneCount());
+
+        try (JobJournal j = JobJournal.open(file, false)) {
+            j.begin(b, b);
+        }
+        JobJournal.Replay r = JobJournal.replay(file);
+        assertEquals(0, r.doneCount());
+        assertEquals(1, r.pendingCount());
+    }
+
+    @Test
+    void finTronqueeIgnoree() throws Exception {
+        Path file = tmp.resolve(JobJournal.FILE_NAME);
+        Path a = tmp.resolve("a.pdf"), b = tmp.resolve("b.pdf");
+        try (JobJournal j = JobJournal.open(file, false)) {
+            j.done(a, a, 1, 1);
+            j.done(b, b, 2, 2);
+        }
+        byte[] all = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(all, all.length - 3));
+
+        JobJournal.Replay r = JobJournal.replay(file);
+        assertNotNull(r.done(a));
+        assertNull(r.done(b));
+    }
+
+    @Test
+    void cheminSourceNormalise() throws Exception {
+        Path file = tmp.resolve(JobJournal.FILE_NAME);
+        Path a = tmp.resolve("src/a.pdf");
+        try (JobJournal j = JobJournal.open(file, false)) {
+            j.done(tmp.resolve("src/./x/../a.pdf"), a, 1, 1);
+        }
+        assertNotNull(JobJournal.replay(file).done(a));
+    }
+
+    @Test
+    void journalAbsentRepriseVide() {
+        JobJournal.Replay r = JobJournal.replay(tmp.resolve("absent.bin"));
+        assertEquals(0, r.doneCount());
+        assertEquals(0, r.pendingCount());
+    }
+}
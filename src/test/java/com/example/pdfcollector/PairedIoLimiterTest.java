@@ -0,0 +1,79 @@
+package com.example.pdfcollector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PairedIoLimiterTest {
+
+    @Test
+    void destinationPartageeBorneToutesLesSources() throws Exception {
+        FixedIoLimiter dest = new FixedIoLimiter(1);
+        PairedIoLimiter a = new PairedIoLimiter(new FixedIoLimiter(4), dest);
+        PairedIoLimiter b = new PairedIoLimiter(new FixedIoLimiter(4), dest);
+        assertEquals(1, a.currentLimit());
+
+        a.acquire();
+        AtomicBoolean bGotIt = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(1);
+        Thread t = new Thread(() -> {
+            try {
+                b.acquire();
+                bGotIt.set(true);
+                b.release(0, 0);
+            } catch (InterruptedException ignored) {
+            } finally {
+                done.countDown();
+            }
+        });
+        t.start();
+
+        // la source b a des permis, mais la destination est prise par a
+        assertFalse(done.await(200, TimeUnit.MILLISECONDS));
+        assertFalse(bGotIt.get());
+
+        a.release(10, 10);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(bGotIt.get());
+    }
+
+    @Test
+    void interruptionRendLePermisSource() throws Exception {
+        FixedIoLimiter source = new FixedIoLimiter(1);
+        FixedIoLimiter dest = new FixedIoLimiter(1);
+        dest.acquire(); // destination saturée
+        PairedIoLimiter p = new PairedIoLimiter(source, dest);
+
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        Thread t = new Thread(() -> {
+            try {
+                p.acquire();
+            } catch (InterruptedException ex) {
+                interrupted.set(true);
+            } finally {
+                done.countDown();
+            }
+        });
+        t.start();
+        Thread.sleep(100);
+        t.interrupt();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(interrupted.get());
+
+        // le permis source pris avant l'attente a bien été rendu
+        CountDownLatch again = new CountDownLatch(1);
+        Thread u = new Thread(() -> {
+            try {
+                source.acquire();
+                again.countDown();
+            } catch (InterruptedException ignored) { }
+        });
+        u.start();
+        assertTrue(again.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.pdfcollector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfTailValidatorTest {
+
+    @TempDir
+    Path dir;
+
+    // PDF minimal : table xref classique, startxref pointant dessus
+    static byte[] pdf(String xrefSection) {
+        String body = "%PDF-1.4\n1 0 obj\n<< /Type /Catalog >>\nendobj\n";
+        String tail = "trailer\n<< /Root 1 0 R >>\nstartxref\n" + body.length() + "\n%%EOF\n";
+        return (body + xrefSection + tail).getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    static byte[] validPdf() {
+        return pdf("xref\n0 2\n0000000000 65535 f \n0000000009 00000 n \n");
+    }
+
+    private String check(byte[] content) throws Exception {
+        Path p = dir.resolve("f.pdf");
+        Files.write(p, content);
+        try (FileChannel ch = FileChannel.open(p, StandardOpenOption.READ)) {
+            return PdfTailValidator.check(ch, ch.size());
+        }
+    }
+
+    @Test
+    void pdfCompletAccepte() throws Exception {
+        assertNull(check(validPdf()));
+    }
+
+    @Test
+    void fluxXrefAccepte() throws Exception {
+        assertNull(check(pdf("7 0 obj\n<< /Type /XRef >>\nstream\nendstream\nendobj\n")));
+    }
+
+    @Test
+    void octetsApresEofToleres() throws Exception {
+        byte[] ok = validPdf();
+        byte[] padded = Arrays.copyOf(ok, ok.length + 100);
+        assertNull(check(padded));
+    }
+
+    @Test
+    void fichierTronqueRejete() throws Exception {
+        byte[] ok = validPdf();
+        assertNotNull(check(Arrays.copyOf(ok, ok.length - 10)));
+    }
+
+    @Test
+    void enTeteAbsentRejete() throws Exception {
+        byte[] bad = validPdf();
+        bad[1] = 'X';
+        assertEquals("en-tête %PDF absent", check(bad));
+    }
+
+    @Test
+    void fichierTropCourtRejete() throws Exception {
+        assertEquals("fichier trop court", check("%PDF-1.4\n".getBytes(StandardCharsets.ISO_8859_1)));
+    }
+
+    @Test
+    void startxrefAbsentRejete() throws Exception {
+        String s = new String(validPdf(), StandardCharsets.ISO_8859_1).replace("startxref", "startxxxx");
+        assertEquals("startxref absent", check(s.getBytes(StandardCharsets.ISO_8859_1)));
+    }
+
+    @Test
+    void offsetHorsFichierRejete() throws Exception {
+        String s = "%PDF-1.4\nxref\ntrailer\nstartxref\n999999\n%%EOF\n";
+        assertEquals("offset startxref hors fichier", check(s.getBytes(StandardCharsets.ISO_8859_1)));
+    }
+
+    @Test
+    void offsetSansTableXrefRejete() throws Exception {
+        String s = "%PDF-1.4\nhello world, no table here\ntrailer\nstartxref\n9\n%%EOF\n";
+        assertEquals("aucune table xref à l'offset 9", check(s.getBytes(StandardCharsets.ISO_8859_1)));
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.pdfcollector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScanIndexTest {
+
+    @TempDir
+    Path tmp;
+
+    private ScanIndex sample(Path source) {
+        ScanIndex idx = new ScanIndex(source, Set.of("pdf", "zip"));
+        Map<String, ScanIndex.FileRec> rootFiles = new HashMap<>();
+        rootFiles.put("a.pdf", new ScanIndex.FileRec(10, 100, ScanIndex.PENDING));
+        idx.putDir(source, new ScanIndex.DirRec(1000, List.of("sous dossier"), rootFiles));
+
+        Map<String, ScanIndex.FileRec> subFiles = new HashMap<>();
+        subFiles.put("é.zip", new ScanIndex.FileRec(20, 200, ScanIndex.PENDING));
+        subFiles.put("b.pdf", new ScanIndex.FileRec(30, 300, ScanIndex.PENDING));
+        idx.putDir(source.resolve("sous dossier"), new ScanIndex.DirRec(2000, List.of(), subFiles));
+        return idx;
+    }
+
+    @Test
+    void sauvegardePuisRelecture() throws Exception {
+        Path source = tmp.resolve("src");
+        ScanIndex idx = sample(source);
+        idx.outcome(source.resolve("a.pdf"), ScanIndex.COPIED);
+        idx.outcome(source.resolve("sous dossier").resolve("b.pdf"), ScanIndex.FAILED);
+
+        Path file = tmp.resolve(ScanIndex.FILE_NAME);
+        idx.save(file);
+        ScanIndex back = ScanIndex.load(file, source, Set.of("zip", "pdf"));
+
+        assertNotNull(back);
+        assertEquals(2, back.dirCount());
+        assertEquals(3, back.fileCount());
+
+        ScanIndex.DirRec root = back.dir(source);
+        assertEquals(1000, root.mtime);
+        assertEquals(List.of("sous dossier"), root.subdirs);
+        assertTrue(root.files.get("a.pdf").settled());
+
+        ScanIndex.DirRec sub = back.dir(source.resolve("sous dossier"));
+        assertEquals(2000, sub.mtime);
+        ScanIndex.FileRec b = sub.files.get("b.pdf");
+        assertEquals(30, b.size);
+        assertEquals(300, b.mtime);
+        assertEquals(ScanIndex.FAILED, b.outcome);
+        assertFalse(b.settled());
+        assertEquals(ScanIndex.PENDING, sub.files.get("é.zip").outcome);
+    }
+
+    @Test
+    void autreSourceOuAutresExtensionsIgnore() throws Exception {
+        Path source = tmp.resolve("src");
+        Path file = tmp.resolve(ScanIndex.FILE_NAME);
+        sample(source).save(file);
+
+        assertNull(ScanIndex.load(file, tmp.resolve("autre"), Set.of("pdf", "zip")));
+        assertNull(ScanIndex.load(file, source, Set.of("pdf")));
+    }
+
+    @Test
+    void fichierAbsentOuIllisible() throws Exception {
+        Path source = tmp.resolve("src");
+        Path file = tmp.resolve(ScanIndex.FILE_NAME);
+        assertNull(ScanIndex.load(file, source, Set.of("pdf")));
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertNull(ScanIndex.load(file, source, Set.of("pdf")));
+    }
+
+    @Test
+    void indexTronqueIgnore() throws Exception {
+        Path source = tmp.resolve("src");
+        Path file = tmp.resolve(ScanIndex.FILE_NAME);
+        sample(source).save(file);
+        byte[] all = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(all, all.length / 2));
+
+        assertNull(ScanIndex.load(file, source, Set.of("pdf", "zip")));
+    }
+
+    @Test
+    void sauvegardeSansTemporaireResiduel() throws Exception {
+        Path file = tmp.resolve(ScanIndex.FILE_NAME);
+        sample(tmp.resolve("src")).save(file);
+        assertFalse(Files.exists(tmp.resolve(ScanIndex.FILE_NAME + ".tmp")));
+    }
+}